@@ -0,0 +1,166 @@
+package com.chrisimoni.evyntspace.common.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Executors behind @Async. Each workload gets its own executor with its own concurrency limit,
+ * so a backlog of SMTP sends cannot starve notification or webhook work.
+ * With async.virtual-threads=true every task runs on its own virtual thread and the limit is a semaphore
+ * (waiting tasks park cheaply); otherwise a fixed-size platform thread pool with a bounded queue is used.
+ * Both modes publish async.executor.queued and async.executor.active gauges, tagged by executor name.
+ */
+@Configuration
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+    public static final String DEFAULT_EXECUTOR = "taskExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+    public static final String EMAIL_EXECUTOR = "emailExecutor";
+    public static final String OUTBOX_EXECUTOR = "outboxExecutor";
+    public static final String WEBHOOK_EXECUTOR = "webhookExecutor";
+    public static final String REFUND_EXECUTOR = "refundExecutor";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${async.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${async.queue-capacity:500}") // Platform thread mode only
+    private int queueCapacity;
+
+    @Value("${async.default.max-concurrency:20}")
+    private int defaultMaxConcurrency;
+
+    @Value("${async.notification.max-concurrency:20}")
+    private int notificationMaxConcurrency;
+
+    @Value("${async.email.max-concurrency:10}")
+    private int emailMaxConcurrency;
+
+    @Value("${async.outbox.max-concurrency:8}")
+    private int outboxMaxConcurrency;
+
+    @Value("${async.webhook.max-concurrency:8}")
+    private int webhookMaxConcurrency;
+
+    @Value("${async.refund.max-concurrency:8}")
+    private int refundMaxConcurrency;
+
+    public AsyncConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(name = DEFAULT_EXECUTOR)
+    public AsyncTaskExecutor taskExecutor() {
+        return createExecutor("async", defaultMaxConcurrency);
+    }
+
+    // Event listeners that build notification content (template model, QR codes)
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public AsyncTaskExecutor notificationExecutor() {
+        return createExecutor("notification", notificationMaxConcurrency);
+    }
+
+    // Blocking SMTP sends
+    @Bean(name = EMAIL_EXECUTOR)
+    public AsyncTaskExecutor emailExecutor() {
+        return createExecutor("email", emailMaxConcurrency);
+    }
+
+    // Workers dispatching claimed notification outbox messages
+    @Bean(name = OUTBOX_EXECUTOR)
+    public AsyncTaskExecutor outboxExecutor() {
+        return createExecutor("outbox", outboxMaxConcurrency);
+    }
+
+    // Workers processing claimed Stripe webhook inbox events (JDBC)
+    @Bean(name = WEBHOOK_EXECUTOR)
+    public AsyncTaskExecutor webhookExecutor() {
+        return createExecutor("webhook", webhookMaxConcurrency);
+    }
+
+    // Workers issuing claimed refund batch items (blocking Stripe calls)
+    @Bean(name = REFUND_EXECUTOR)
+    public AsyncTaskExecutor refundExecutor() {
+        return createExecutor("refund", refundMaxConcurrency);
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return taskExecutor();
+    }
+
+    private AsyncTaskExecutor createExecutor(String name, int maxConcurrency) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(name + "-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(concurrencyLimit(name, maxConcurrency));
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        registerGauges(name, executor::getQueueSize, executor::getActiveCount);
+        return executor;
+    }
+
+    // The permit is taken on the virtual thread itself, so the publishing thread never blocks
+    private TaskDecorator concurrencyLimit(String name, int maxConcurrency) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicInteger queued = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        registerGauges(name, queued::get, active::get);
+
+        return task -> () -> {
+            queued.incrementAndGet();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Async task on executor '{}' interrupted while waiting for a permit.", name);
+                return;
+            } finally {
+                queued.decrementAndGet();
+            }
+
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                permits.release();
+            }
+        };
+    }
+
+    private void registerGauges(String name, IntSupplier queued, IntSupplier active) {
+        Gauge.builder("async.executor.queued", queued, IntSupplier::getAsInt)
+                .tag("executor", name)
+                .description("Tasks submitted but waiting for a free slot")
+                .strongReference(true) // The suppliers are lambdas with no other owner
+                .register(meterRegistry);
+        Gauge.builder("async.executor.active", active, IntSupplier::getAsInt)
+                .tag("executor", name)
+                .description("Tasks currently running")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+}
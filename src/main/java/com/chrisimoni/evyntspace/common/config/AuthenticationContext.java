@@ -96,13 +96,12 @@ public class AuthenticationContext {
     public UUID getCurrentUserId() {
         Authentication authentication = getAuthentication();
 
-        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetails)) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
             throw new IllegalStateException("No authenticated user found");
         }
 
-        Object principal = authentication.getPrincipal();
-
-        if (principal instanceof SecurityPrincipal securityPrincipal) {
+        if (authentication.getPrincipal() instanceof SecurityPrincipal securityPrincipal) {
             return securityPrincipal.getUserId();
         }
 
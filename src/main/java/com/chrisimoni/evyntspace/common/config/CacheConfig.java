@@ -0,0 +1,71 @@
+package com.chrisimoni.evyntspace.common.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PUBLIC_EVENTS_CACHE = "publicEvents";
+    public static final String USERS_BY_ID_CACHE = "usersById";
+    public static final String USERS_BY_EMAIL_CACHE = "usersByEmail";
+    public static final String PAYMENT_ACCOUNTS_BY_USER_CACHE = "paymentAccountsByUser";
+
+    @Value("${cache.public-events.maximum-size:5000}")
+    private long publicEventsMaximumSize;
+
+    @Value("${cache.public-events.expire-after-write-seconds:300}")
+    private long publicEventsExpireAfterWriteSeconds;
+
+    @Value("${cache.users.maximum-size:10000}")
+    private long usersMaximumSize;
+
+    // Also bounds how long a change made on another instance can go unnoticed
+    @Value("${cache.users.expire-after-write-seconds:60}")
+    private long usersExpireAfterWriteSeconds;
+
+    @Value("${cache.payment-accounts.maximum-size:10000}")
+    private long paymentAccountsMaximumSize;
+
+    @Value("${cache.payment-accounts.expire-after-write-seconds:60}")
+    private long paymentAccountsExpireAfterWriteSeconds;
+
+    /**
+     * Every cache is registered up front so that Actuator binds its hit/miss/eviction metrics
+     * (exposed under /actuator/metrics/cache.*) at startup.
+     * The manager is transaction aware: evictions issued inside a transaction are deferred until commit,
+     * so a concurrent reader cannot re-populate the cache with the pre-commit state.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PUBLIC_EVENTS_CACHE,
+                buildCache(publicEventsMaximumSize, publicEventsExpireAfterWriteSeconds));
+        cacheManager.registerCustomCache(USERS_BY_ID_CACHE,
+                buildCache(usersMaximumSize, usersExpireAfterWriteSeconds));
+        cacheManager.registerCustomCache(USERS_BY_EMAIL_CACHE,
+                buildCache(usersMaximumSize, usersExpireAfterWriteSeconds));
+        cacheManager.registerCustomCache(PAYMENT_ACCOUNTS_BY_USER_CACHE,
+                buildCache(paymentAccountsMaximumSize, paymentAccountsExpireAfterWriteSeconds));
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> buildCache(
+            long maximumSize, long expireAfterWriteSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+}
@@ -14,6 +14,8 @@ import java.util.Objects;
 @Getter
 @Setter
 public class CommonPaginationAndSortCriteria {
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
     @Min(value = 0, message = "Page number cannot be negative")
     private Integer page;
     @Min(value = 1, message = "Page size must be at least 1")
@@ -25,14 +27,20 @@ public class CommonPaginationAndSortCriteria {
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private Instant toDate;
     private Boolean active;
+    // Opaque keyset cursor; when present (even empty, for the first page) page/sortBy are ignored
+    private String cursor;
 
     public Pageable toPageable() {
         // Apply default values if client didn't provide them
         page = Objects.isNull(page) || page < 1 ? 0 : page - 1;
-        size = Objects.isNull(size) ? 10 : size;
+        size = getPageSizeOrDefault();
 
         Sort sort = sortDesc ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
         return PageRequest.of(page, size, sort);
     }
+
+    public int getPageSizeOrDefault() {
+        return Objects.isNull(size) ? DEFAULT_PAGE_SIZE : size;
+    }
 }
@@ -0,0 +1,13 @@
+package com.chrisimoni.evyntspace.common.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record CursorPageResponse<T>(
+        List<T> content,
+        int pageSize,
+        String nextCursor, // Opaque, pass back as ?cursor= to fetch the next page
+        boolean hasNext
+) {}
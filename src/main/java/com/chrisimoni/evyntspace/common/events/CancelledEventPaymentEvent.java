@@ -0,0 +1,19 @@
+package com.chrisimoni.evyntspace.common.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+// A reservation of an already cancelled event was paid; the payment has to be refunded
+@Getter
+public class CancelledEventPaymentEvent extends ApplicationEvent {
+    private final UUID eventId;
+    private final UUID enrollmentId;
+
+    public CancelledEventPaymentEvent(Object source, UUID eventId, UUID enrollmentId) {
+        super(source);
+        this.eventId = eventId;
+        this.enrollmentId = enrollmentId;
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
 
 @Getter
 public class ReservationConfirmationEvent extends ApplicationEvent {
@@ -12,6 +14,8 @@ public class ReservationConfirmationEvent extends ApplicationEvent {
     private final String firstName;
     private final String lastName;
 
+    private final UUID eventId;
+    private final Instant eventVersion; // Event's updatedAt; identifies the event content rendered in the email
     private final String eventTitle;
     private final String eventSummary;
     private final String eventType;
@@ -26,7 +30,8 @@ public class ReservationConfirmationEvent extends ApplicationEvent {
     private final String organizerEmail;
 
     public ReservationConfirmationEvent(Object source, String reservationNumber, String email,
-                                        String firstName, String lastName, String eventTitle,
+                                        String firstName, String lastName, UUID eventId, Instant eventVersion,
+                                        String eventTitle,
                                         String eventSummary, String eventType, boolean isPaid, BigDecimal price,
                                         String eventImageUrl, String venueName, String venueAddress,
                                         String meetingLink, String organizer, String organizerEmail) {
@@ -35,6 +40,8 @@ public class ReservationConfirmationEvent extends ApplicationEvent {
         this.email = email;
         this.firstName = firstName;
         this.lastName = lastName;
+        this.eventId = eventId;
+        this.eventVersion = eventVersion;
         this.eventTitle = eventTitle;
         this.eventSummary = eventSummary;
         this.eventType = eventType;
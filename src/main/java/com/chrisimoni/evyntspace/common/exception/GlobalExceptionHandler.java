@@ -4,8 +4,10 @@ import com.chrisimoni.evyntspace.common.dto.ApiErrorDetail;
 import com.chrisimoni.evyntspace.common.dto.ErrorApiResponse;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
@@ -91,6 +93,21 @@ public class GlobalExceptionHandler {
         return ErrorApiResponse.create(HttpStatus.BAD_GATEWAY.name(), ex.getMessage());
     }
 
+    // Load shedding (e.g. the password hashing pool is saturated) -> 503 with a retry hint
+    @ExceptionHandler(ServiceBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorApiResponse handleServiceBusy(ServiceBusyException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return ErrorApiResponse.create(HttpStatus.SERVICE_UNAVAILABLE.name(), ex.getMessage());
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ErrorApiResponse handleRateLimitExceeded(RateLimitExceededException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return ErrorApiResponse.create(HttpStatus.TOO_MANY_REQUESTS.name(), ex.getMessage());
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorApiResponse handleMaxSizeException(MaxUploadSizeExceededException ex) {
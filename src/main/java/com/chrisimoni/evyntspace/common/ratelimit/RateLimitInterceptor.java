@@ -0,0 +1,31 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Per-IP limit for @RateLimited handlers, applied before the request body is read.
+ * Behind a reverse proxy, set server.forward-headers-strategy so getRemoteAddr is the client address.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+            if (rateLimited != null) {
+                rateLimiter.check(rateLimited.value(), RateLimitScope.IP, request.getRemoteAddr());
+            }
+        }
+        return true;
+    }
+}
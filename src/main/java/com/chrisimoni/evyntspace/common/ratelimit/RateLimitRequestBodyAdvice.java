@@ -0,0 +1,39 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Per-subject limit for @RateLimited handlers, applied as soon as the body is deserialized
+ * (before validation and before the controller runs).
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class RateLimitRequestBodyAdvice extends RequestBodyAdviceAdapter {
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean supports(@NonNull MethodParameter methodParameter, @NonNull Type targetType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return methodParameter.hasMethodAnnotation(RateLimited.class);
+    }
+
+    @Override
+    @NonNull
+    public Object afterBodyRead(@NonNull Object body, @NonNull HttpInputMessage inputMessage,
+                                @NonNull MethodParameter parameter, @NonNull Type targetType,
+                                @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        if (body instanceof RateLimitSubject subject) {
+            RateLimited rateLimited = parameter.getMethodAnnotation(RateLimited.class);
+            rateLimiter.check(rateLimited.value(), RateLimitScope.SUBJECT, subject.rateLimitSubject());
+        }
+        return body;
+    }
+}
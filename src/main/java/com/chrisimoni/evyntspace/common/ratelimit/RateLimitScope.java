@@ -0,0 +1,16 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+public enum RateLimitScope {
+    IP("ip"),           // Client address
+    SUBJECT("subject"); // Request-body key, e.g. the email address a code is sent to
+
+    private final String propertyName;
+
+    RateLimitScope(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
@@ -0,0 +1,8 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+/**
+ * Request bodies of @RateLimited endpoints implement this to be limited per subject as well as per IP.
+ */
+public interface RateLimitSubject {
+    String rateLimitSubject();
+}
@@ -0,0 +1,16 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Applies the named rate-limit bucket (rate-limit.buckets.&lt;name&gt;) to a controller method:
+ * per client IP before the body is read, and per RateLimitSubject once it is.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
@@ -0,0 +1,80 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+import com.chrisimoni.evyntspace.common.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-key token buckets, configured per named bucket and scope:
+ * rate-limit.buckets.&lt;name&gt;.&lt;ip|subject&gt;.capacity / refill-period-seconds.
+ * A scope without configuration is not limited. Buckets live in a size-bounded Caffeine cache and
+ * expire after being idle, so a flood of distinct keys cannot grow memory without bound.
+ */
+@Component
+public class RateLimiter {
+    private static final String PROPERTY_PREFIX = "rate-limit.buckets.";
+
+    private final Environment environment;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<String, Optional<BucketConfig>> configs = new ConcurrentHashMap<>();
+
+    public RateLimiter(
+            Environment environment,
+            @Value("${rate-limit.maximum-keys:100000}") long maximumKeys,
+            // Should be at least the longest refill period: an idle bucket is full by then, so evicting it loses nothing
+            @Value("${rate-limit.idle-expiry-minutes:60}") long idleExpiryMinutes) {
+        this.environment = environment;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofMinutes(idleExpiryMinutes))
+                .build();
+    }
+
+    public void check(String bucketName, RateLimitScope scope, String key) {
+        check(bucketName, scope, key, System.nanoTime());
+    }
+
+    // Clock passed in so tests can drive refill deterministically
+    void check(String bucketName, RateLimitScope scope, String key, long now) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+
+        Optional<BucketConfig> config = configs.computeIfAbsent(
+                bucketName + "." + scope.getPropertyName(), this::loadConfig);
+        if (config.isEmpty()) {
+            return;
+        }
+
+        TokenBucket bucket = buckets.get(bucketName + ":" + scope.getPropertyName() + ":" + key,
+                k -> new TokenBucket(config.get().capacity(), config.get().refillPeriodNanos(), now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            throw new RateLimitExceededException(
+                    "Too many requests. Please try again in " + retryAfterSeconds + " seconds.", retryAfterSeconds);
+        }
+    }
+
+    private Optional<BucketConfig> loadConfig(String property) {
+        Integer capacity = environment.getProperty(PROPERTY_PREFIX + property + ".capacity", Integer.class);
+        Long refillPeriodSeconds = environment.getProperty(
+                PROPERTY_PREFIX + property + ".refill-period-seconds", Long.class);
+        if (capacity == null || refillPeriodSeconds == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new BucketConfig(capacity, TimeUnit.SECONDS.toNanos(refillPeriodSeconds)));
+    }
+
+    private record BucketConfig(int capacity, long refillPeriodNanos) {
+    }
+}
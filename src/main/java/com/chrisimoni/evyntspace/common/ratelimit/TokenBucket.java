@@ -0,0 +1,41 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket: up to {@code capacity} requests in a burst, refilled at capacity per refill period.
+ * Implemented in its GCRA form, so the whole state is one AtomicLong (the theoretical arrival time of the
+ * next request) updated with a CAS loop; an idle bucket is simply one whose arrival time is in the past.
+ */
+public class TokenBucket {
+    private final long emissionIntervalNanos; // Time to refill one token
+    private final long burstWindowNanos;      // Time to refill the whole bucket
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(int capacity, long refillPeriodNanos, long nowNanos) {
+        if (capacity < 1 || refillPeriodNanos < 1) {
+            throw new IllegalArgumentException("Token bucket capacity and refill period must be positive.");
+        }
+        this.emissionIntervalNanos = Math.max(1, refillPeriodNanos / capacity);
+        this.burstWindowNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long overdraft = next - nowNanos - burstWindowNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
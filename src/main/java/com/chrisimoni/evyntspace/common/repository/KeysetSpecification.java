@@ -0,0 +1,61 @@
+package com.chrisimoni.evyntspace.common.repository;
+
+import com.chrisimoni.evyntspace.common.model.BaseEntity;
+import com.chrisimoni.evyntspace.common.util.CursorUtil.Cursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Seek predicate for keyset pagination over (createdAt, id): the row-value comparison
+ * (created_at, id) > (?, ?) (or < when descending), written as
+ * created_at >= ? AND (created_at > ? OR (created_at = ? AND id > ?)).
+ * The OR alone is only a filter to Postgres; the redundant created_at bound gives the (created_at, id)
+ * index a range condition, so a deep page starts at the cursor instead of walking the index from its start.
+ */
+@RequiredArgsConstructor
+public class KeysetSpecification<T extends BaseEntity> implements Specification<T> {
+    private final Cursor cursor;
+    private final boolean descending;
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        if (cursor == null) {
+            return null; // First page
+        }
+
+        Path<Instant> createdAt = root.get("createdAt");
+        Path<UUID> id = root.get("id");
+
+        if (descending) {
+            return criteriaBuilder.and(
+                    criteriaBuilder.lessThanOrEqualTo(createdAt, cursor.createdAt()),
+                    criteriaBuilder.or(
+                            criteriaBuilder.lessThan(createdAt, cursor.createdAt()),
+                            criteriaBuilder.and(
+                                    criteriaBuilder.equal(createdAt, cursor.createdAt()),
+                                    criteriaBuilder.lessThan(id, cursor.id()))));
+        }
+
+        return criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(createdAt, cursor.createdAt()),
+                criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(createdAt, cursor.createdAt()),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(createdAt, cursor.createdAt()),
+                                criteriaBuilder.greaterThan(id, cursor.id()))));
+    }
+
+    public static Sort sort(boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, "createdAt").and(Sort.by(direction, "id"));
+    }
+}
@@ -2,12 +2,16 @@ package com.chrisimoni.evyntspace.common.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.List;
+
 public interface BaseService<T, ID> {
     T save(T entity);
     T findById(ID id);
     Page<T> findAll(Pageable pageable); // Generic pagination/sorting
     Page<T> findAll(Specification<T> spec, Pageable pageable); //Generic filtering with Specification
+    List<T> findAll(Specification<T> spec, Sort sort, int limit); //Filtering without the count query (keyset pages)
     void updateStatus(ID id, Boolean newStatus);
 }
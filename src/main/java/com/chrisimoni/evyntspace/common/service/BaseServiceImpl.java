@@ -5,12 +5,14 @@ import com.chrisimoni.evyntspace.common.model.ActivatableEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 
 public class BaseServiceImpl<T, ID> implements BaseService<T, ID> {
     // The specific repository for the entity, injected by the subclass
@@ -68,6 +70,18 @@ public class BaseServiceImpl<T, ID> implements BaseService<T, ID> {
         return specRepository.findAll(spec, pageable);
     }
 
+    @Override
+    public List<T> findAll(Specification<T> spec, Sort sort, int limit) {
+        if (specRepository == null) {
+            throw new UnsupportedOperationException(
+                    "Specification-based search is not supported for '" + resourceName +
+                            "' entity. Its repository does not extend JpaSpecificationExecutor."
+            );
+        }
+
+        return specRepository.findBy(spec, query -> query.sortBy(sort).limit(limit).all());
+    }
+
     @Override
     @Transactional
     public void updateStatus(ID id, Boolean newStatus) {
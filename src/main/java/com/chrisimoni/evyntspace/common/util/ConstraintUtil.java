@@ -0,0 +1,20 @@
+package com.chrisimoni.evyntspace.common.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class ConstraintUtil {
+    /**
+     * True when the violation was raised by the given unique index/constraint (names are compared case-insensitively,
+     * Postgres reports them in lower case). Lets callers rely on the database for uniqueness instead of pre-queries.
+     */
+    public static boolean isViolationOf(DataIntegrityViolationException e, String constraintName) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && constraintName.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.chrisimoni.evyntspace.common.util;
+
+import com.chrisimoni.evyntspace.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public class CursorUtil {
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Position of the last row of a keyset page: its sort key (createdAt) and the id used as tie-breaker.
+     */
+    public record Cursor(Instant createdAt, UUID id) {}
+
+    public static String encode(Instant createdAt, UUID id) {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // An empty cursor means "first page"
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new BadRequestException("Invalid pagination cursor.");
+            }
+            return new Cursor(
+                    Instant.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid pagination cursor.");
+        }
+    }
+}
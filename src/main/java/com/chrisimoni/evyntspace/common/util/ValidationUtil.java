@@ -1,38 +1,36 @@
 package com.chrisimoni.evyntspace.common.util;
 
 import com.chrisimoni.evyntspace.common.exception.BadRequestException;
-import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+/**
+ * Email and password checks are single-pass scanners equivalent to these patterns (see ValidationUtilTest):
+ * email    ^[a-zA-Z0-9_+&-]+(?:\.[a-zA-Z0-9_+&-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,7}$
+ * password ^(?=.*[a-z])(?=.*[A-Z])(?=.*\d)(?=.*[^a-zA-Z\d]).{8,20}$
+ */
 public class ValidationUtil {
-    private static final String EMAIL_REGEX =
-            "^[a-zA-Z0-9_+&-]+(?:\\.[a-zA-Z0-9_+&-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-    private static final String PASSWORD_REGEX =
-            "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[^a-zA-Z\\d]).{8,20}$";
+    private static final int PASSWORD_MIN_LENGTH = 8;
+    private static final int PASSWORD_MAX_LENGTH = 20;
+    private static final int TLD_MIN_LENGTH = 2;
+    private static final int TLD_MAX_LENGTH = 7;
     private static final Set<String> validCountryCodes = Arrays.stream(Locale.getISOCountries())
             .collect(Collectors.toSet());
 
 
     public static void validateEmailFormat(String email) {
-        Pattern pattern = Pattern.compile(EMAIL_REGEX);
-        Matcher matcher = pattern.matcher(email);
-        if (!matcher.matches()) {
+        if (!isValidEmail(email)) {
             throw new BadRequestException("Invalid email address");
         }
     }
 
     public static void validatePassword(String password) {
         if(Objects.nonNull(password)) {
-            Pattern PASSWORD_PATTERN = Pattern.compile(PASSWORD_REGEX);
-            Matcher matcher = PASSWORD_PATTERN.matcher(password);
-            if (!matcher.matches()) {
+            if (!isValidPassword(password)) {
                 throw new BadRequestException("Password must include at least one uppercase letter," +
                         " one lowercase letter, one number, and one special character.");
             }
@@ -49,4 +47,93 @@ public class ValidationUtil {
                     String.format("Invalid country code: %s. Please use a valid ISO 3166-1 alpha-2 code.", countryCode));
         }
     }
+
+    static boolean isValidEmail(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return false;
+        }
+
+        // Local part: non-empty segments of [a-zA-Z0-9_+&-] separated by single dots
+        boolean segmentEmpty = true;
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (segmentEmpty) {
+                    return false;
+                }
+                segmentEmpty = true;
+            } else if (isAsciiLetterOrDigit(c) || c == '_' || c == '+' || c == '&' || c == '-') {
+                segmentEmpty = false;
+            } else {
+                return false;
+            }
+        }
+        if (segmentEmpty) {
+            return false;
+        }
+
+        // Domain: one or more [a-zA-Z0-9-]+ labels each followed by a dot, then a 2-7 letter TLD
+        int labels = 0;
+        int labelLength = 0;
+        boolean labelAllLetters = true;
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                labels++;
+                labelLength = 0;
+                labelAllLetters = true;
+            } else if (isAsciiLetterOrDigit(c) || c == '-') {
+                labelLength++;
+                labelAllLetters &= isAsciiLetter(c);
+            } else {
+                return false;
+            }
+        }
+        return labels > 0 && labelAllLetters && labelLength >= TLD_MIN_LENGTH && labelLength <= TLD_MAX_LENGTH;
+    }
+
+    // Length is in code points and line terminators never match, as with the regex's '.'
+    static boolean isValidPassword(String password) {
+        boolean hasLower = false;
+        boolean hasUpper = false;
+        boolean hasDigit = false;
+        boolean hasSpecial = false;
+        int length = 0;
+
+        for (int i = 0; i < password.length(); ) {
+            int codePoint = password.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isLineTerminator(codePoint) || ++length > PASSWORD_MAX_LENGTH) {
+                return false;
+            }
+
+            if (codePoint >= 'a' && codePoint <= 'z') {
+                hasLower = true;
+            } else if (codePoint >= 'A' && codePoint <= 'Z') {
+                hasUpper = true;
+            } else if (codePoint >= '0' && codePoint <= '9') {
+                hasDigit = true;
+            } else {
+                hasSpecial = true;
+            }
+        }
+        return length >= PASSWORD_MIN_LENGTH && hasLower && hasUpper && hasDigit && hasSpecial;
+    }
+
+    private static boolean isLineTerminator(int codePoint) {
+        return codePoint == '\n' || codePoint == '\r' || codePoint == 0x0085
+                || codePoint == 0x2028 || codePoint == 0x2029;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
 }
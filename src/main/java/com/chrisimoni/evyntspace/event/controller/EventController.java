@@ -1,6 +1,7 @@
 package com.chrisimoni.evyntspace.event.controller;
 
 import com.chrisimoni.evyntspace.common.dto.ApiResponse;
+import com.chrisimoni.evyntspace.common.dto.CursorPageResponse;
 import com.chrisimoni.evyntspace.common.dto.PageResponse;
 import com.chrisimoni.evyntspace.event.dto.*;
 import com.chrisimoni.evyntspace.event.service.EventService;
@@ -34,6 +35,15 @@ public class EventController {
         return ApiResponse.success("Event list retrieved.", response);
     }
 
+    // Keyset mode: selected whenever a cursor param is sent (empty for the first page)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping(params = "cursor")
+    public ApiResponse<CursorPageResponse<EventResponse>> getEventsByCursor(
+            @Valid @ParameterObject EventSearchCriteria filter) {
+        CursorPageResponse<EventResponse> response = service.getEventsByCursor(filter);
+        return ApiResponse.success("Event list retrieved.", response);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @GetMapping("/{id}")
     public ApiResponse<EventResponse> getEvent(@PathVariable("id") UUID id) {
@@ -64,6 +74,13 @@ public class EventController {
         return ApiResponse.success("Event list retrieved.", response);
     }
 
+    @GetMapping(value = "/public-events", params = "cursor")
+    public ApiResponse<CursorPageResponse<EventPublicResponse>> getEventsForPublicByCursor(
+            @Valid EventSearchCriteria filter) {
+        CursorPageResponse<EventPublicResponse> response = service.getPublicEventsByCursor(filter);
+        return ApiResponse.success("Event list retrieved.", response);
+    }
+
     @GetMapping("/public-events/slug/{slug}")
     public ApiResponse<com.chrisimoni.evyntspace.event.dto.EventPublicResponse> getEventForPublicBySlug(@PathVariable("slug") String slug) {
         EventPublicResponse response = service.getEventBySlug(slug);
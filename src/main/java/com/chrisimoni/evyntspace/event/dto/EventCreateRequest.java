@@ -55,6 +55,11 @@ public record EventCreateRequest(
         List<AgendaDetails> agendas,
 
         @Future(message = "Scheduled publish date must be in the future.")
-        Instant scheduledPublishDate
+        Instant scheduledPublishDate,
+
+        // Optional: splits capacity into N counters to spread row-lock contention for high-demand events
+        @Min(value = 1, message = "Slot shard count must be at least 1.")
+        @Max(value = 64, message = "Slot shard count cannot exceed 64.")
+        Integer slotShardCount
 ) {
 }
@@ -5,7 +5,6 @@ import com.chrisimoni.evyntspace.common.events.PaymentConfirmationEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,8 +13,9 @@ import org.springframework.stereotype.Component;
 public class PaymentConfirmationEventListener {
     private final EnrollmentService enrollmentService;
 
+    // Runs synchronously inside the webhook inbox worker's transaction: the enrollment update commits with the
+    // inbox row, a failure rolls both back for a retry, and updates for one reservation keep the inbox order
     @EventListener
-    @Async
     public void handlePaymentConfirmationEvent(PaymentConfirmationEvent event) {
         log.info("PaymentConfirmationEvent received for {}.", event.getReservationNumber());
         enrollmentService.updateReservationStatus(
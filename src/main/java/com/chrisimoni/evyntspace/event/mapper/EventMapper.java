@@ -12,6 +12,8 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring",
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface EventMapper {
@@ -19,6 +21,7 @@ public interface EventMapper {
     @Mapping(target = "paid", source = "isPaid", defaultValue = "false")
     Event toEntity(EventCreateRequest dto);
     EventResponse toResponseDto(Event event);
+    List<EventResponse> toResponseDtoList(List<Event> events);
 
     @Mapping(source = "number", target = "pageNumber")
     @Mapping(source = "size", target = "pageSize")
@@ -26,6 +29,7 @@ public interface EventMapper {
     PageResponse<EventResponse> toPageResponse(Page<Event> eventPage);
 
     EventPublicResponse toPublicResponseDto(Event event);
+    List<EventPublicResponse> toPublicResponseDtoList(List<Event> events);
 
     @Mapping(source = "number", target = "pageNumber")
     @Mapping(source = "size", target = "pageSize")
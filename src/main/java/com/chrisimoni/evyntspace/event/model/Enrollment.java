@@ -30,13 +30,4 @@ public class Enrollment extends BaseEntity {
     // This is the explicit Foreign Key column (UUID) to the 'transactions' table.
     // There is NO @OneToOne JPA annotation here to enforce separation.
     private UUID transactionId;
-
-    public Enrollment(UUID eventId, String firstName, String lastName, String email) {
-        this.eventId = eventId;
-        this.firstName = firstName;
-        this.lastName = lastName;
-        this.email = email;
-        // A simple, non-production way to generate a unique order number.
-        this.reservationNumber = "#" + System.currentTimeMillis();
-    }
 }
@@ -39,6 +39,9 @@ public class Event extends ActivatableEntity {
 
     @Column(nullable = false)
     private Integer numberOfSlots;
+    // 0 = single-row counter on numberOfSlots; otherwise remaining capacity lives in event_slot_shards
+    @Column(nullable = false)
+    private int slotShardCount;
     private boolean isPaid;
     private BigDecimal price;
     private String eventImageUrl;
@@ -1,5 +1,6 @@
 package com.chrisimoni.evyntspace.event.repository;
 
+import com.chrisimoni.evyntspace.event.enums.PaymentStatus;
 import com.chrisimoni.evyntspace.event.model.Enrollment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -15,12 +16,94 @@ import java.util.UUID;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
-    Optional<Enrollment> findByEventIdAndEmail(UUID eventId, String email);
     Optional<Enrollment> findByReservationNumber(String reservationNumber);
 
+    // Served by uq_enrollments_event_lower_email
+    @Query("""
+        SELECT COUNT(e) > 0 FROM Enrollment e
+        WHERE e.eventId = :eventId AND lower(e.email) = lower(:email) AND e.paymentStatus = :status
+    """)
+    boolean existsByEventIdAndEmailAndStatus(@Param("eventId") UUID eventId,
+                                             @Param("email") String email,
+                                             @Param("status") PaymentStatus status);
+
+    /**
+     * Inserts the enrollment, or reuses the existing row for the same event and case-insensitive email
+     * (payment retry) unless it is CONFIRMED or EXPIRED. Concurrent submits serialize on
+     * uq_enrollments_event_lower_email: the second one takes the update path and does not require a slot.
+     * Returns nothing when the existing row is CONFIRMED or EXPIRED; the row stays locked either way.
+     */
+    @Query(value = """
+        INSERT INTO enrollments (event_id, first_name, last_name, email, reservation_number, payment_status,
+                                 created_at, updated_at)
+        VALUES (:eventId, :firstName, :lastName, :email, :reservationNumber, :paymentStatus, NOW(), NOW())
+        ON CONFLICT (event_id, lower(email)) DO UPDATE
+        SET first_name = EXCLUDED.first_name,
+            last_name = EXCLUDED.last_name,
+            payment_status = EXCLUDED.payment_status,
+            updated_at = NOW()
+        WHERE enrollments.payment_status NOT IN ('CONFIRMED', 'EXPIRED')
+        RETURNING reservation_number AS reservationNumber, email, (xmax = 0) AS slotRequired
+        """, nativeQuery = true)
+    Optional<ReservationUpsertView> upsertReservation(
+            @Param("eventId") UUID eventId,
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName,
+            @Param("email") String email,
+            @Param("reservationNumber") String reservationNumber,
+            @Param("paymentStatus") String paymentStatus
+    );
+
+    /**
+     * Reuses an EXPIRED enrollment; its slot was restored on expiry, so the caller must reserve one again.
+     * The status is re-checked on the latest row version, so of two concurrent retries only one reclaims it.
+     */
+    @Query(value = """
+        UPDATE enrollments
+        SET first_name = :firstName,
+            last_name = :lastName,
+            payment_status = :paymentStatus,
+            updated_at = NOW()
+        WHERE event_id = :eventId AND lower(email) = lower(:email) AND payment_status = 'EXPIRED'
+        RETURNING reservation_number AS reservationNumber, email, TRUE AS slotRequired
+        """, nativeQuery = true)
+    Optional<ReservationUpsertView> reclaimExpiredReservation(
+            @Param("eventId") UUID eventId,
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName,
+            @Param("email") String email,
+            @Param("paymentStatus") String paymentStatus
+    );
+
+    // Ends a PENDING_PAYMENT hold early (e.g. no checkout session could be created); returns 0 if it moved on
+    @Modifying
+    @Query("""
+        UPDATE Enrollment e SET e.paymentStatus = :expiredStatus, e.updatedAt = CURRENT_TIMESTAMP
+        WHERE e.reservationNumber = :reservationNumber AND e.paymentStatus = :pendingStatus
+    """)
+    int expirePendingReservation(
+            @Param("reservationNumber") String reservationNumber,
+            @Param("pendingStatus") PaymentStatus pendingStatus,
+            @Param("expiredStatus") PaymentStatus expiredStatus);
+
+    // Bulk refunds: only a CONFIRMED enrollment becomes REFUNDED; returns 0 if it moved on
+    @Modifying
+    @Query("""
+        UPDATE Enrollment e SET e.paymentStatus = :refundedStatus, e.updatedAt = CURRENT_TIMESTAMP
+        WHERE e.id = :enrollmentId AND e.paymentStatus = :confirmedStatus
+    """)
+    int markAsRefunded(
+            @Param("enrollmentId") UUID enrollmentId,
+            @Param("confirmedStatus") PaymentStatus confirmedStatus,
+            @Param("refundedStatus") PaymentStatus refundedStatus);
+
     /**
      * Expires stale enrollments and restores event slots in a single atomic operation.
+     * Only rows in heldStatuses (unpaid holds that still own a slot) are expired; CONFIRMED and REFUNDED
+     * enrollments are never touched.
      * Optimized for millions of records with proper indexing.
+     * Slots of sharded events are returned to a shard picked by hashing the enrollment id,
+     * so restores spread across shards the same way reservations do.
      * NOTE: This returns the number of EVENTS affected.
      */
     @Modifying
@@ -31,24 +114,39 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
             SET payment_status = :newStatus
             FROM events ev
             WHERE e.event_id = ev.id
-                AND e.payment_status NOT IN :excludedStatuses
+                AND e.payment_status IN :heldStatuses
                 AND e.updated_at < :cutoffTime
                 AND ev.is_paid = TRUE
-            RETURNING e.event_id
+            RETURNING e.id, e.event_id, ev.slot_shard_count
         ),
         slot_counts AS (
             SELECT event_id, COUNT(*) as expired_count
             FROM expired_enrollments
             GROUP BY event_id
+        ),
+        shard_counts AS (
+            SELECT event_id,
+                   ((hashtext(CAST(id AS TEXT)) % slot_shard_count) + slot_shard_count) % slot_shard_count AS shard_no,
+                   COUNT(*) as expired_count
+            FROM expired_enrollments
+            WHERE slot_shard_count > 0
+            GROUP BY 1, 2
+        ),
+        restored_shards AS (
+            UPDATE event_slot_shards s
+            SET available_slots = s.available_slots + shc.expired_count
+            FROM shard_counts shc
+            WHERE s.event_id = shc.event_id AND s.shard_no = shc.shard_no
         )
         UPDATE events ev
-        SET number_of_slots = ev.number_of_slots + sc.expired_count
+        SET number_of_slots = ev.number_of_slots
+            + CASE WHEN ev.slot_shard_count = 0 THEN sc.expired_count ELSE 0 END
         FROM slot_counts sc
         WHERE ev.id = sc.event_id
         """, nativeQuery = true)
     int expireStaleEnrollmentsAndRestoreSlots(
             @Param("cutoffTime") Instant cutoffTime,
-            @Param("excludedStatuses") List<String> excludedStatuses,
+            @Param("heldStatuses") List<String> heldStatuses,
             @Param("newStatus") String newStatus
     );
 }
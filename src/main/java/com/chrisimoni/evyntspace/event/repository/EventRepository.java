@@ -2,6 +2,7 @@ package com.chrisimoni.evyntspace.event.repository;
 
 import com.chrisimoni.evyntspace.event.enums.EventStatus;
 import com.chrisimoni.evyntspace.event.model.Event;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -17,11 +18,137 @@ import java.util.UUID;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
-    boolean existsByTitleIgnoreCase(String title);
+    boolean existsBySlug(String slug);
     Optional<Event> findBySlugAndStatusAndActiveTrue(String slug, EventStatus eventStatus);
     List<Event> findByStatusAndScheduledPublishDateBefore(EventStatus status, Instant date, Pageable pageable);
     @Modifying
     @Query("UPDATE Event e SET e.numberOfSlots = e.numberOfSlots - 1 WHERE e.id = :eventId AND e.numberOfSlots > 0")
     int decrementSlotIfAvailable(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.numberOfSlots = e.numberOfSlots + 1 WHERE e.id = :eventId")
+    int incrementSlot(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE event_slot_shards
+            SET available_slots = available_slots + 1
+            WHERE event_id = :eventId AND shard_no = :shardNo
+            """, nativeQuery = true)
+    int incrementSlotShard(@Param("eventId") UUID eventId, @Param("shardNo") int shardNo);
+
+    /**
+     * Sharded inventory: takes one slot from the first shard with capacity, scanning from startShard and wrapping.
+     * Shards locked by concurrent reservations are skipped rather than waited on.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE event_slot_shards s
+            SET available_slots = s.available_slots - 1
+            WHERE (s.event_id, s.shard_no) = (
+                SELECT c.event_id, c.shard_no FROM event_slot_shards c
+                WHERE c.event_id = :eventId AND c.available_slots > 0
+                ORDER BY c.shard_no < :startShard, c.shard_no
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            AND s.available_slots > 0
+            """, nativeQuery = true)
+    int decrementSlotShardSkipLocked(@Param("eventId") UUID eventId, @Param("startShard") int startShard);
+
+    // Fallback when every shard with capacity is momentarily locked: waits for the fullest one
+    @Modifying
+    @Query(value = """
+            UPDATE event_slot_shards s
+            SET available_slots = s.available_slots - 1
+            WHERE (s.event_id, s.shard_no) = (
+                SELECT c.event_id, c.shard_no FROM event_slot_shards c
+                WHERE c.event_id = :eventId AND c.available_slots > 0
+                ORDER BY c.available_slots DESC
+                LIMIT 1
+                FOR UPDATE
+            )
+            AND s.available_slots > 0
+            """, nativeQuery = true)
+    int decrementSlotShard(@Param("eventId") UUID eventId);
+
+    // Spreads totalSlots evenly over shardCount shards (the first totalSlots % shardCount shards get one extra)
+    @Modifying
+    @Query(value = """
+            INSERT INTO event_slot_shards (event_id, shard_no, available_slots)
+            SELECT :eventId, g, (:totalSlots / :shardCount) + CASE WHEN g < :totalSlots % :shardCount THEN 1 ELSE 0 END
+            FROM generate_series(0, :shardCount - 1) g
+            """, nativeQuery = true)
+    int createSlotShards(@Param("eventId") UUID eventId,
+                         @Param("shardCount") int shardCount,
+                         @Param("totalSlots") int totalSlots);
+
+    // Re-spreads the remaining slots after a capacity change. Slots already taken (previousCapacity minus what
+    // is left in the shards) are kept sold, so the shards hold newCapacity - sold, never less than 0.
+    // The shard rows are locked first so concurrent reservations cannot change the sum mid-update.
+    @Modifying
+    @Query(value = """
+            WITH locked AS (
+                SELECT c.available_slots FROM event_slot_shards c
+                WHERE c.event_id = :eventId
+                ORDER BY c.shard_no
+                FOR UPDATE
+            ), remaining AS (
+                SELECT GREATEST(:newCapacity - (:previousCapacity - COALESCE(SUM(l.available_slots), 0)), 0) AS total
+                FROM locked l
+            )
+            UPDATE event_slot_shards s
+            SET available_slots = (r.total / :shardCount) + CASE WHEN s.shard_no < r.total % :shardCount THEN 1 ELSE 0 END
+            FROM remaining r
+            WHERE s.event_id = :eventId
+            """, nativeQuery = true)
+    int redistributeSlotShards(@Param("eventId") UUID eventId,
+                               @Param("shardCount") int shardCount,
+                               @Param("previousCapacity") int previousCapacity,
+                               @Param("newCapacity") int newCapacity);
+
+    // Remaining capacity, aggregated across shards for sharded events
+    @Query(value = """
+            SELECT CAST(CASE WHEN ev.slot_shard_count > 0
+                THEN COALESCE((SELECT SUM(s.available_slots) FROM event_slot_shards s WHERE s.event_id = ev.id), 0)
+                ELSE ev.number_of_slots END AS INTEGER)
+            FROM events ev
+            WHERE ev.id = :eventId
+            """, nativeQuery = true)
+    Optional<Integer> findAvailableSlots(@Param("eventId") UUID eventId);
     List<Event> findByEndDateBeforeAndStatusNot(Instant date, EventStatus eventStatus, Pageable limit);
+
+    // Ranked title search backed by the GIN index on search_vector (see V22). :query is a to_tsquery
+    // expression built by the service (prefix terms restricted to the title weight, e.g. 'conf:*A').
+    // Optional filters are passed as null when absent; results are ordered by relevance, newest first on ties.
+    @Query(value = """
+            SELECT e.* FROM events e
+            WHERE e.search_vector @@ to_tsquery('simple', :query)
+              AND (CAST(:status AS VARCHAR) IS NULL OR e.status = CAST(:status AS VARCHAR))
+              AND (CAST(:active AS BOOLEAN) IS NULL OR e.active = CAST(:active AS BOOLEAN))
+              AND (CAST(:organizerId AS UUID) IS NULL OR e.user_id = CAST(:organizerId AS UUID))
+              AND (CAST(:country AS VARCHAR) IS NULL OR lower(e.country) LIKE CAST(:country AS VARCHAR))
+              AND (CAST(:fromDate AS TIMESTAMPTZ) IS NULL OR e.created_at >= CAST(:fromDate AS TIMESTAMPTZ))
+              AND (CAST(:toDate AS TIMESTAMPTZ) IS NULL OR e.created_at <= CAST(:toDate AS TIMESTAMPTZ))
+            ORDER BY ts_rank(e.search_vector, to_tsquery('simple', :query)) DESC, e.created_at DESC, e.id
+            """,
+            countQuery = """
+            SELECT count(*) FROM events e
+            WHERE e.search_vector @@ to_tsquery('simple', :query)
+              AND (CAST(:status AS VARCHAR) IS NULL OR e.status = CAST(:status AS VARCHAR))
+              AND (CAST(:active AS BOOLEAN) IS NULL OR e.active = CAST(:active AS BOOLEAN))
+              AND (CAST(:organizerId AS UUID) IS NULL OR e.user_id = CAST(:organizerId AS UUID))
+              AND (CAST(:country AS VARCHAR) IS NULL OR lower(e.country) LIKE CAST(:country AS VARCHAR))
+              AND (CAST(:fromDate AS TIMESTAMPTZ) IS NULL OR e.created_at >= CAST(:fromDate AS TIMESTAMPTZ))
+              AND (CAST(:toDate AS TIMESTAMPTZ) IS NULL OR e.created_at <= CAST(:toDate AS TIMESTAMPTZ))
+            """,
+            nativeQuery = true)
+    Page<Event> searchByText(@Param("query") String query,
+                             @Param("status") String status,
+                             @Param("active") Boolean active,
+                             @Param("organizerId") UUID organizerId,
+                             @Param("country") String countryPattern,
+                             @Param("fromDate") Instant fromDate,
+                             @Param("toDate") Instant toDate,
+                             Pageable pageable);
 }
@@ -22,11 +22,7 @@ public class EventSpecification implements Specification<Event> {
     public Predicate toPredicate(Root<Event> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
         List<Predicate> predicates = new ArrayList<>();
 
-        // Filter by title (case-insensitive, contains)
-        if (StringUtils.hasText(criteria.getTitle())) {
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("title")),
-                    "%" + criteria.getTitle().toLowerCase() + "%"));
-        }
+        // Title search is served by EventRepository.searchByText (full-text index), not by this specification
 
         // Filter by status
         if (Objects.nonNull(criteria.getStatus())) {
@@ -43,7 +39,7 @@ public class EventSpecification implements Specification<Event> {
         }
 
         if (StringUtils.hasText(criteria.getCountry())) {
-            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("country")),
+            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("physicalEventDetails").get("country")),
                     "%" + criteria.getCountry().toLowerCase() + "%"));
         }
 
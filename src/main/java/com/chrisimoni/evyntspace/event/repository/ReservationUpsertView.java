@@ -0,0 +1,8 @@
+package com.chrisimoni.evyntspace.event.repository;
+
+public interface ReservationUpsertView {
+    String getReservationNumber();
+    String getEmail();
+    // True when the row was newly inserted or reclaimed from EXPIRED, i.e. it does not hold a slot yet
+    boolean isSlotRequired();
+}
@@ -5,8 +5,11 @@ import com.chrisimoni.evyntspace.event.enums.PaymentStatus;
 import com.chrisimoni.evyntspace.event.model.Event;
 import com.chrisimoni.evyntspace.event.repository.EnrollmentRepository;
 import com.chrisimoni.evyntspace.event.repository.EventRepository;
+import com.chrisimoni.evyntspace.event.service.SlotAdmissionGate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -17,6 +20,9 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Objects;
+
+import static com.chrisimoni.evyntspace.common.config.CacheConfig.PUBLIC_EVENTS_CACHE;
 
 @Component
 @RequiredArgsConstructor
@@ -24,6 +30,8 @@ import java.util.List;
 public class EventScheduler {
     private final EventRepository eventRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final CacheManager cacheManager;
+    private final SlotAdmissionGate slotAdmissionGate;
 
     private static final Pageable PAGE_REQUEST = PageRequest.of(0, 2000);
 
@@ -45,6 +53,7 @@ public class EventScheduler {
                 event.setScheduledPublishDate(null);
             });
             eventRepository.saveAll(eventsToPublish);
+            evictPublicEvents(eventsToPublish);
             log.info("Published {} events.", eventsToPublish.size());
         }
     }
@@ -59,6 +68,7 @@ public class EventScheduler {
             eventsToArchive.forEach(event -> event.setStatus(EventStatus.ARCHIVED));
 
             eventRepository.saveAll(eventsToArchive);
+            evictPublicEvents(eventsToArchive);
             log.info("Archived {} completed events.", eventsToArchive.size());
         }
     }
@@ -72,19 +82,30 @@ public class EventScheduler {
     public void expireStaleEnrollments() {
         LocalDateTime cutoffLocal = LocalDateTime.now().minusMinutes(5);
         Instant cutoffInstant = cutoffLocal.atZone(ZoneId.systemDefault()).toInstant();
-        List<String> excluded = List.of(PaymentStatus.CONFIRMED.name(), PaymentStatus.EXPIRED.name());
+        // Unpaid holds: a FAILED or CANCELED checkout keeps its slot for a retry until it goes stale
+        List<String> held = List.of(
+                PaymentStatus.PENDING_PAYMENT.name(), PaymentStatus.FAILED.name(), PaymentStatus.CANCELED.name());
         String newStatus = PaymentStatus.EXPIRED.name();
 
         // Single atomic query
         int affectedEvents = enrollmentRepository.expireStaleEnrollmentsAndRestoreSlots(
                 cutoffInstant,
-                excluded,
+                held,
                 newStatus
         );
 
         if(affectedEvents > 0) {
+            // Restored slots become visible to the admission gate on its next read
+            slotAdmissionGate.invalidateAll();
             log.info("Reversed slots for {} events", affectedEvents);
         }
 
     }
+
+    private void evictPublicEvents(List<Event> events) {
+        Cache cache = cacheManager.getCache(PUBLIC_EVENTS_CACHE);
+        if (Objects.nonNull(cache)) {
+            events.forEach(event -> cache.evict(event.getSlug()));
+        }
+    }
 }
@@ -8,5 +8,6 @@ import java.util.UUID;
 public interface EnrollmentService {
     ConfirmationDetails createReservation(UUID eventId, String firstName, String lastName, String email);
     void updateReservationStatus(String reservationNumber, PaymentStatus status, UUID transactionId);
+    void markAsRefunded(UUID enrollmentId);
     //Optional<Enrollment> findByEventIdAndUserEmail(UUID eventId, String userEmail);
 }
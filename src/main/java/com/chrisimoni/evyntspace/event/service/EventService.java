@@ -1,5 +1,6 @@
 package com.chrisimoni.evyntspace.event.service;
 
+import com.chrisimoni.evyntspace.common.dto.CursorPageResponse;
 import com.chrisimoni.evyntspace.common.dto.PageResponse;
 import com.chrisimoni.evyntspace.common.service.BaseService;
 import com.chrisimoni.evyntspace.event.dto.*;
@@ -13,7 +14,11 @@ public interface EventService extends BaseService<Event, UUID> {
     EventPublicResponse getEventBySlug(String slug);
     EventResponse getEvent(UUID eventId);
     int decrementSlotIfAvailable(UUID eventId);
+    void releaseSlot(UUID eventId);
+    int getAvailableSlots(UUID eventId);
     PageResponse<EventResponse> getEvents(EventSearchCriteria filter);
     PageResponse<EventPublicResponse> getPublicEvents(EventSearchCriteria filter);
+    CursorPageResponse<EventResponse> getEventsByCursor(EventSearchCriteria filter);
+    CursorPageResponse<EventPublicResponse> getPublicEventsByCursor(EventSearchCriteria filter);
     void deleteEvent(UUID eventId);
 }
@@ -0,0 +1,88 @@
+package com.chrisimoni.evyntspace.event.service;
+
+import com.chrisimoni.evyntspace.event.repository.EventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local, per-instance view of the remaining slots of each event, used to turn away reservations
+ * for sold-out events before they reach the database.
+ * The view is only a hint: the database decrement stays authoritative. Entries expire after a short
+ * refresh interval so slots freed by other instances or by the expiry job become visible again.
+ */
+@Component
+@Slf4j
+public class SlotAdmissionGate {
+    private final EventRepository eventRepository;
+    private final Cache<UUID, AtomicInteger> remainingSlots;
+
+    public SlotAdmissionGate(
+            EventRepository eventRepository,
+            @Value("${enrollment.admission.refresh-seconds:5}") long refreshSeconds,
+            @Value("${enrollment.admission.maximum-size:10000}") long maximumSize) {
+        this.eventRepository = eventRepository;
+        this.remainingSlots = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .build();
+    }
+
+    // Cheap pre-check, no slot is taken
+    public boolean isSoldOut(UUID eventId) {
+        return counter(eventId).get() <= 0;
+    }
+
+    /**
+     * Takes one slot from the local view. Returns false when the event is (probably) sold out,
+     * in which case the caller should not attempt the database decrement.
+     */
+    public boolean tryAcquire(UUID eventId) {
+        AtomicInteger counter = counter(eventId);
+        int current;
+        do {
+            current = counter.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - 1));
+
+        return true;
+    }
+
+    // Gives back a slot taken with tryAcquire whose reservation did not go through
+    public void release(UUID eventId) {
+        AtomicInteger counter = remainingSlots.getIfPresent(eventId);
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    // The database reported no capacity left
+    public void markSoldOut(UUID eventId) {
+        AtomicInteger counter = remainingSlots.getIfPresent(eventId);
+        if (counter != null) {
+            counter.set(0);
+        }
+    }
+
+    public void invalidate(UUID eventId) {
+        remainingSlots.invalidate(eventId);
+    }
+
+    public void invalidateAll() {
+        remainingSlots.invalidateAll();
+    }
+
+    // Concurrent misses for the same event share a single database read
+    private AtomicInteger counter(UUID eventId) {
+        return remainingSlots.get(eventId, id -> new AtomicInteger(
+                eventRepository.findAvailableSlots(id).orElse(0)));
+    }
+}
@@ -7,13 +7,17 @@ import com.chrisimoni.evyntspace.event.dto.ConfirmationDetails;
 import com.chrisimoni.evyntspace.event.enums.EventStatus;
 import com.chrisimoni.evyntspace.event.enums.EventType;
 import com.chrisimoni.evyntspace.event.enums.PaymentStatus;
+import com.chrisimoni.evyntspace.common.events.CancelledEventPaymentEvent;
 import com.chrisimoni.evyntspace.common.events.ReservationConfirmationEvent;
 import com.chrisimoni.evyntspace.event.model.Enrollment;
 import com.chrisimoni.evyntspace.event.model.Event;
 import com.chrisimoni.evyntspace.event.model.PhysicalEventDetails;
 import com.chrisimoni.evyntspace.event.repository.EnrollmentRepository;
+import com.chrisimoni.evyntspace.event.repository.ReservationUpsertView;
 import com.chrisimoni.evyntspace.event.service.EnrollmentService;
 import com.chrisimoni.evyntspace.event.service.EventService;
+import com.chrisimoni.evyntspace.event.service.SlotAdmissionGate;
+import com.chrisimoni.evyntspace.event.util.ReservationNumberGenerator;
 import com.chrisimoni.evyntspace.common.events.PaymentRefundNotificationEvent;
 import com.chrisimoni.evyntspace.payment.service.PaymentService;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +25,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -36,11 +43,37 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     private final EventService eventService;
     private final ApplicationEventPublisher eventPublisher;
     private final PaymentService paymentService;
-
+    private final SlotAdmissionGate slotAdmissionGate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationNumberGenerator reservationNumberGenerator;
+
+    /**
+     * Sold-out events are rejected from the admission gate's local view before a transaction is opened,
+     * so a stampede on a sold-out event does not tie up pooled connections. Only when the gate reads sold out
+     * is the database asked whether this email already holds a PENDING_PAYMENT slot, so checkout retries still
+     * get through. The slot hold and PENDING enrollment are committed first; the Stripe checkout session is created
+     * afterwards, outside any transaction, so row locks and connections are never held across the Stripe call.
+     */
     @Override
-    @Transactional
     public ConfirmationDetails createReservation(UUID eventId, String firstName, String lastName, String email) {
         validateEmailFormat(email);
+        if (slotAdmissionGate.isSoldOut(eventId) && !enrollmentRepository.existsByEventIdAndEmailAndStatus(
+                eventId, email, PaymentStatus.PENDING_PAYMENT)) {
+            throw new EventSoldOutException("No slots available for this event.");
+        }
+
+        HeldReservation held = transactionTemplate.execute(status -> holdReservation(eventId, firstName, lastName, email));
+        if (!held.event().isPaid()) {
+            return createConfirmationDetails(held.reservation(), PaymentStatus.CONFIRMED, null);
+        }
+
+        return createCheckout(held.event(), held.organizerId(), held.reservation());
+    }
+
+    // Committed result of the first phase; the event is detached, so the lazy organizer is resolved up front
+    private record HeldReservation(Event event, UUID organizerId, ReservationUpsertView reservation) {}
+
+    private HeldReservation holdReservation(UUID eventId, String firstName, String lastName, String email) {
         Event event = eventService.findById(eventId);
 
         if(EventStatus.ARCHIVED.equals(event.getStatus())) {
@@ -51,19 +84,33 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             throw new BadRequestException("Registration is closed for this event.");
         }
 
-        Enrollment existingEnrollment = enrollmentRepository
-                .findByEventIdAndEmail(event.getId(), email)
-                .orElse(null);
-        if (existingEnrollment != null && PaymentStatus.CONFIRMED.equals(existingEnrollment.getPaymentStatus())) {
-            throw new DuplicateResourceException("This email is already enrolled in this event.");
+        // Single upsert instead of lookup-then-insert; a retry of the same email reuses its row
+        PaymentStatus initialStatus = event.isPaid() ? PaymentStatus.PENDING_PAYMENT : PaymentStatus.CONFIRMED;
+        ReservationUpsertView reservation = upsertReservation(event.getId(), firstName, lastName, email, initialStatus);
+        if (reservation.isSlotRequired()) {
+            reserveSlot(event.getId()); // Sold out rolls the inserted row back with the transaction
+        } else {
+            log.info("Reusing existing enrollment {} for payment retry.", reservation.getReservationNumber());
+        }
+
+        if (!event.isPaid()) {
+            triggerConfirmationNotificationEvent(
+                    reservation.getReservationNumber(), reservation.getEmail(), firstName, lastName, event);
         }
 
-        // Check if the event is a paid event and handle it separately
-        if (event.isPaid()) {
-            return handlePaidEvent(event, firstName, lastName, email, existingEnrollment);
+        return new HeldReservation(event, event.getOrganizer().getId(), reservation);
+    }
+
+    private ReservationUpsertView upsertReservation(
+            UUID eventId, String firstName, String lastName, String email, PaymentStatus status) {
+        Optional<ReservationUpsertView> reservation = enrollmentRepository.upsertReservation(
+                eventId, firstName, lastName, email, reservationNumberGenerator.next(), status.name());
+        if (reservation.isPresent()) {
+            return reservation.get();
         }
 
-        return handleFreeEvent(event, firstName, lastName, email);
+        return enrollmentRepository.reclaimExpiredReservation(eventId, firstName, lastName, email, status.name())
+                .orElseThrow(() -> new DuplicateResourceException("This email is already enrolled in this event."));
     }
 
     @Override
@@ -89,6 +136,16 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         }
     }
 
+    // Called by refund batches, which send the refund email themselves
+    @Override
+    @Transactional
+    public void markAsRefunded(UUID enrollmentId) {
+        int updated = enrollmentRepository.markAsRefunded(enrollmentId, PaymentStatus.CONFIRMED, PaymentStatus.REFUNDED);
+        if (updated == 0) {
+            log.warn("Enrollment {} was not CONFIRMED when its refund completed.", enrollmentId);
+        }
+    }
+
     private void handlePaymentRefund(Enrollment enrollment) {
         enrollment.setPaymentStatus(PaymentStatus.REFUNDED);
         enrollmentRepository.save(enrollment);
@@ -125,6 +182,16 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         enrollment.setPaymentStatus(PaymentStatus.CONFIRMED);
         enrollmentRepository.save(enrollment);
 
+        // Checkout was still open when the event was cancelled; the attendee is refunded instead of confirmed.
+        // Flushed first: the refund item is copied from the enrollment and transaction rows by a native INSERT
+        if (!event.isActive()) {
+            enrollmentRepository.flush();
+            log.warn("Payment received for reservation {} of cancelled event {}. Queuing a refund.",
+                    enrollment.getReservationNumber(), event.getId());
+            eventPublisher.publishEvent(new CancelledEventPaymentEvent(this, event.getId(), enrollment.getId()));
+            return;
+        }
+
         triggerConfirmationNotificationEvent(
                 enrollment.getReservationNumber(),
                 enrollment.getEmail(),
@@ -134,59 +201,79 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         );
     }
 
-    private ConfirmationDetails handlePaidEvent(
-            Event event, String firstName, String lastName, String email, Enrollment existingEnrollment) {
-
-        Enrollment enrollment;
-        if(existingEnrollment != null) {
-            enrollment = prepareRetryEnrollment(existingEnrollment, event, firstName, lastName);
-        }else {
-            reserveSlot(event.getId());
-            enrollment = new Enrollment(event.getId(), firstName, lastName, email);
-            enrollment.setPaymentStatus(PaymentStatus.PENDING_PAYMENT);
+    private ConfirmationDetails createCheckout(Event event, UUID organizerId, ReservationUpsertView reservation) {
+        String checkoutUrl;
+        try {
+            checkoutUrl = paymentService.createCheckoutSession(
+                    organizerId,
+                    reservation.getReservationNumber(),
+                    reservation.getEmail(), event.getTitle(),
+                    event.getPrice(),
+                    event.getEventImageUrl());
+        } catch (RuntimeException e) {
+            // A reused hold keeps its slot (a session from the earlier attempt may still be paid)
+            if (reservation.isSlotRequired()) {
+                releaseHeldSlot(event.getId(), reservation.getReservationNumber());
+            }
+            throw e;
         }
 
-        enrollmentRepository.save(enrollment);
-
-        String checkoutUrl = paymentService.createCheckoutSession(
-                event.getOrganizer().getId(),
-                enrollment.getReservationNumber(),
-                email, event.getTitle(),
-                event.getPrice(),
-                event.getEventImageUrl());
-
-        return createConfirmationDetails(enrollment, checkoutUrl);
+        return createConfirmationDetails(reservation, PaymentStatus.PENDING_PAYMENT, checkoutUrl);
     }
 
-    private Enrollment prepareRetryEnrollment(Enrollment enrollment, Event event, String firstName, String lastName) {
-        if (PaymentStatus.EXPIRED.equals(enrollment.getPaymentStatus())) {
-            reserveSlot(event.getId());
+    /**
+     * Compensates the committed hold when no checkout session could be created: the enrollment is expired
+     * (a retry reclaims it) and its slot returned. If this fails, the stale-enrollment job restores the slot later.
+     */
+    private void releaseHeldSlot(UUID eventId, String reservationNumber) {
+        try {
+            Boolean released = transactionTemplate.execute(status -> {
+                int expired = enrollmentRepository.expirePendingReservation(
+                        reservationNumber, PaymentStatus.PENDING_PAYMENT, PaymentStatus.EXPIRED);
+                if (expired == 0) {
+                    return false;
+                }
+                eventService.releaseSlot(eventId);
+                return true;
+            });
+            if (Boolean.TRUE.equals(released)) {
+                slotAdmissionGate.release(eventId);
+                log.info("Released slot held by reservation {} after checkout session creation failed.", reservationNumber);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to release slot held by reservation {}: {}", reservationNumber, e.getMessage(), e);
         }
-        enrollment.setPaymentStatus(PaymentStatus.PENDING_PAYMENT);
-        enrollment.setFirstName(firstName);
-        enrollment.setLastName(lastName);
-        log.info("Reusing existing enrollment {} for payment retry.", enrollment.getReservationNumber());
-        return enrollment;
-    }
-
-    private ConfirmationDetails handleFreeEvent(Event event, String firstName, String lastName, String email) {
-        reserveSlot(event.getId());
-        Enrollment enrollment = new Enrollment(event.getId(), firstName, lastName, email);
-        enrollment.setPaymentStatus(PaymentStatus.CONFIRMED);
-        enrollmentRepository.save(enrollment);
-
-        triggerConfirmationNotificationEvent(enrollment.getReservationNumber(), email, firstName, lastName, event);
-
-        return createConfirmationDetails(enrollment, null);
     }
 
     private void reserveSlot(UUID eventId) {
+        // Only go to the database when the local view says capacity probably exists
+        if (!slotAdmissionGate.tryAcquire(eventId)) {
+            throw new EventSoldOutException("No slots available for this event.");
+        }
+
         // Atomically decrement the slot for events immediately
-        int updatedSlots = eventService.decrementSlotIfAvailable(eventId);
+        int updatedSlots;
+        try {
+            updatedSlots = eventService.decrementSlotIfAvailable(eventId);
+        } catch (RuntimeException e) {
+            slotAdmissionGate.release(eventId);
+            throw e;
+        }
 
         if (updatedSlots == 0) {
+            slotAdmissionGate.markSoldOut(eventId);
             throw new EventSoldOutException("No slots available for this event.");
         }
+
+        // The slot goes back to the local view if the reservation transaction does not commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    slotAdmissionGate.release(eventId);
+                }
+            }
+        });
     }
 
     private void triggerConfirmationNotificationEvent(String reservationNumber, String email, String firstName, String lastName,
@@ -209,6 +296,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 email,
                 firstName,
                 lastName,
+                event.getId(),
+                event.getUpdatedAt(),
                 event.getTitle(),
                 event.getSummary(),
                 event.getEventType().name(),
@@ -233,11 +322,12 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 details.getCountry());
     }
 
-    private ConfirmationDetails createConfirmationDetails(Enrollment enrollment, String checkoutUrl) {
+    private ConfirmationDetails createConfirmationDetails(
+            ReservationUpsertView reservation, PaymentStatus paymentStatus, String checkoutUrl) {
         return new ConfirmationDetails(
-                enrollment.getReservationNumber(),
-                enrollment.getEmail(),
-                enrollment.getPaymentStatus(),
+                reservation.getReservationNumber(),
+                reservation.getEmail(),
+                paymentStatus,
                 checkoutUrl
                 );
     }
@@ -1,12 +1,15 @@
 package com.chrisimoni.evyntspace.event.service.impl;
 
 import com.chrisimoni.evyntspace.common.config.AuthenticationContext;
+import com.chrisimoni.evyntspace.common.dto.CursorPageResponse;
 import com.chrisimoni.evyntspace.common.dto.PageResponse;
 import com.chrisimoni.evyntspace.common.enums.Role;
 import com.chrisimoni.evyntspace.common.exception.BadRequestException;
 import com.chrisimoni.evyntspace.common.exception.DuplicateResourceException;
 import com.chrisimoni.evyntspace.common.exception.ResourceNotFoundException;
+import com.chrisimoni.evyntspace.common.repository.KeysetSpecification;
 import com.chrisimoni.evyntspace.common.service.BaseServiceImpl;
+import com.chrisimoni.evyntspace.common.util.CursorUtil;
 import com.chrisimoni.evyntspace.event.dto.*;
 import com.chrisimoni.evyntspace.event.dto.EventPublicResponse;
 import com.chrisimoni.evyntspace.event.enums.EventStatus;
@@ -15,34 +18,51 @@ import com.chrisimoni.evyntspace.event.model.Event;
 import com.chrisimoni.evyntspace.event.repository.EventRepository;
 import com.chrisimoni.evyntspace.event.repository.EventSpecification;
 import com.chrisimoni.evyntspace.event.service.EventService;
-import com.chrisimoni.evyntspace.payment.model.PaymentAccount;
+import com.chrisimoni.evyntspace.event.service.SlotAdmissionGate;
+import com.chrisimoni.evyntspace.payment.dto.PaymentAccountSnapshot;
 import com.chrisimoni.evyntspace.payment.service.PaymentAccountService;
 import com.chrisimoni.evyntspace.user.model.User;
 import com.chrisimoni.evyntspace.user.service.UserService;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
+import static com.chrisimoni.evyntspace.common.config.CacheConfig.PUBLIC_EVENTS_CACHE;
+import static com.chrisimoni.evyntspace.common.util.ConstraintUtil.isViolationOf;
 import static com.chrisimoni.evyntspace.event.util.EventUtil.generateSlug;
 import static com.chrisimoni.evyntspace.event.util.EventUtil.isNullOrEmpty;
+import static com.chrisimoni.evyntspace.event.util.EventUtil.toTitleSearchQuery;
 
 @Service
 public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements EventService {
     private static final String RESOURCE_NAME = "Event";
+    private static final String TITLE_UNIQUE_INDEX = "uq_events_lower_title";
+    private static final String SLUG_UNIQUE_INDEX = "events_slug_key";
+    private static final int MAX_NUMBERED_SLUG_SUFFIX = 5;
     private final EventRepository repository;
     private final UserService userService;
     private final PaymentAccountService paymentAccountService;
     private final AuthenticationContext authenticationContext;
     private final EventMapper mapper;
+    private final CacheManager cacheManager;
+    private final SlotAdmissionGate slotAdmissionGate;
 
     @Value("${cloudinary.default-event-img}")
     private String defaultEventImage;
@@ -51,19 +71,22 @@ public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements Ev
     private String defaultUserImage;
 
     public EventServiceImpl(
-            EventRepository repository, UserService userService, PaymentAccountService paymentAccountService, AuthenticationContext authenticationContext, EventMapper mapper) {
+            EventRepository repository, UserService userService, PaymentAccountService paymentAccountService,
+            AuthenticationContext authenticationContext, EventMapper mapper, CacheManager cacheManager,
+            SlotAdmissionGate slotAdmissionGate) {
         super(repository, RESOURCE_NAME);
         this.repository = repository;
         this.userService = userService;
         this.paymentAccountService = paymentAccountService;
         this.authenticationContext = authenticationContext;
         this.mapper = mapper;
+        this.cacheManager = cacheManager;
+        this.slotAdmissionGate = slotAdmissionGate;
     }
 
     @Override
     @Transactional
     public EventResponse createEvent(EventCreateRequest request) {
-        validateTitle(request.title());
         User organizer = userService.findById(request.organizerId());
         authenticationContext.validateUserAccess(request.organizerId());
 
@@ -78,7 +101,7 @@ public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements Ev
 
         event.setOrganizer(organizer);
         event.setPrice(event.isPaid() ? event.getPrice() : BigDecimal.ZERO);
-        event.setSlug(generateSlug(event.getTitle()));
+        event.setSlug(uniqueSlug(event.getTitle(), null));
         event.setEventImageUrl(Objects.nonNull(event.getEventImageUrl()) ? event.getEventImageUrl() : defaultEventImage);
         processAgendas(event);
 
@@ -87,7 +110,8 @@ public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements Ev
             event.setPublishedDate(null);
         }
 
-        event = super.save(event);
+        event = saveAndFlush(event);
+        provisionSlotShards(event);
 
         return mapper.toResponseDto(event);
     }
@@ -101,15 +125,14 @@ public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements Ev
     }
 
     private void validateOrganizerPaymentStatus(UUID userId) {
-        Optional<PaymentAccount> account = paymentAccountService.findByUserId(userId);
+        Optional<PaymentAccountSnapshot> account = paymentAccountService.findSnapshotByUserId(userId);
         if (account.isEmpty()) {
             throw new BadRequestException(
                     "Please set up your Stripe Connect account to create paid events."
             );
         }
 
-        PaymentAccount existingAccount = account.get();
-        if (!existingAccount.isChargesEnabled() || !existingAccount.isPayoutsEnabled()) {
+        if (!account.get().isFullyEnabled()) {
             throw new BadRequestException(
                     "Your Stripe Connect account is not fully enabled. Please complete the setup to create paid events."
             );
@@ -121,10 +144,12 @@ public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements Ev
     public EventResponse updateEvent(UUID id, EventUpdateRequest request) {
         Event previousEvent = findById(id);
         authenticationContext.validateUserAccess(previousEvent.getOrganizer().getId());
+        // saveAndFlush merges the updated copy onto the managed previousEvent, so read its old values first
+        Integer previousCapacity = previousEvent.getNumberOfSlots();
+        String previousSlug = previousEvent.getSlug();
         Event eventToUpdate = mapper.updateEventFromDto(request, previousEvent);
         if(!Objects.equals(eventToUpdate.getTitle(), previousEvent.getTitle())) {
-            validateTitle(eventToUpdate.getTitle());
-            eventToUpdate.setSlug(generateSlug(eventToUpdate.getTitle()));
+            eventToUpdate.setSlug(uniqueSlug(eventToUpdate.getTitle(), previousSlug));
         }
 
         validateEventDates(eventToUpdate.getStartDate(), eventToUpdate.getEndDate());
@@ -132,12 +157,23 @@ public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements Ev
 
         //OPTIONAL: check if the start or end date has changed and trigger notification to enrolled users
 
-        super.save(eventToUpdate);
+        saveAndFlush(eventToUpdate);
+        if (eventToUpdate.getSlotShardCount() > 0 && Objects.nonNull(request.numberOfSlots())) {
+            repository.redistributeSlotShards(
+                    eventToUpdate.getId(), eventToUpdate.getSlotShardCount(),
+                    previousCapacity, eventToUpdate.getNumberOfSlots());
+        }
+        if (Objects.nonNull(request.numberOfSlots())) {
+            slotAdmissionGate.invalidate(eventToUpdate.getId());
+        }
+        evictPublicEvent(previousSlug);
+        evictPublicEvent(eventToUpdate.getSlug());
 
         return mapper.toResponseDto(eventToUpdate);
     }
 
     @Override
+    @Cacheable(cacheNames = PUBLIC_EVENTS_CACHE, key = "#slug")
     public EventPublicResponse getEventBySlug(String slug) {
         Event event = repository.findBySlugAndStatusAndActiveTrue(slug, EventStatus.PUBLISHED)
                 .orElseThrow(() -> new ResourceNotFoundException("No event found"));
@@ -166,6 +202,26 @@ public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements Ev
         return mapper.toPagePublicResponse(events);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<EventResponse> getEventsByCursor(EventSearchCriteria criteria) {
+        boolean isAdmin = authenticationContext.hasRole(Role.ADMIN.name());
+        if(!isAdmin) {
+            UUID currentUserId = authenticationContext.getCurrentUserId();
+            criteria.setOrganizerId(currentUserId);
+        }
+
+        return findEventsByCursor(criteria, mapper::toResponseDtoList);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<EventPublicResponse> getPublicEventsByCursor(EventSearchCriteria criteria) {
+        criteria.setStatus(EventStatus.PUBLISHED);
+        criteria.setActive(true);
+        return findEventsByCursor(criteria, mapper::toPublicResponseDtoList);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public EventResponse getEvent(UUID id) {
@@ -175,36 +231,180 @@ public class EventServiceImpl extends BaseServiceImpl<Event, UUID> implements Ev
     }
 
     private Page<Event> findAllEvents(EventSearchCriteria criteria) {
+        if (StringUtils.isNotBlank(criteria.getTitle())) {
+            return searchEvents(criteria);
+        }
+
         EventSpecification spec = new EventSpecification(criteria);
         Pageable pageable = criteria.toPageable();
 
         return super.findAll(spec, pageable);
     }
 
+    // Results are ranked by relevance, so sortBy/sortDesc do not apply here
+    private Page<Event> searchEvents(EventSearchCriteria criteria) {
+        Pageable pageable = criteria.toPageable();
+        String query = toTitleSearchQuery(criteria.getTitle());
+        if (Objects.isNull(query)) {
+            return Page.empty(pageable);
+        }
+        String status = Objects.nonNull(criteria.getStatus()) ? criteria.getStatus().name() : null;
+        String countryPattern = StringUtils.isNotBlank(criteria.getCountry())
+                ? "%" + criteria.getCountry().toLowerCase() + "%" : null;
+
+        return repository.searchByText(query, status, criteria.getActive(),
+                criteria.getOrganizerId(), countryPattern, criteria.getFromDate(), criteria.getToDate(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    // Keyset page ordered by (createdAt, id): one extra row is fetched to detect a next page, no count query is issued
+    private <R> CursorPageResponse<R> findEventsByCursor(
+            EventSearchCriteria criteria, Function<List<Event>, List<R>> toDtos) {
+        if (StringUtils.isNotBlank(criteria.getTitle())) {
+            throw new BadRequestException("Title search is ranked by relevance and does not support cursor pagination.");
+        }
+
+        int pageSize = criteria.getPageSizeOrDefault();
+        CursorUtil.Cursor cursor = CursorUtil.decode(criteria.getCursor());
+        KeysetSpecification<Event> keyset = new KeysetSpecification<>(cursor, criteria.isSortDesc());
+
+        List<Event> events = super.findAll(new EventSpecification(criteria).and(keyset),
+                KeysetSpecification.sort(criteria.isSortDesc()), pageSize + 1);
+
+        boolean hasNext = events.size() > pageSize;
+        List<Event> page = hasNext ? events.subList(0, pageSize) : events;
+        String nextCursor = null;
+        if (hasNext) {
+            Event last = page.get(page.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageResponse.<R>builder()
+                .content(toDtos.apply(page))
+                .pageSize(pageSize)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public void deleteEvent(UUID eventId) {
         Event event = findById(eventId);
         authenticationContext.validateUserAccess(event.getOrganizer().getId());
         updateStatus(eventId, false);
+        evictPublicEvent(event.getSlug());
     }
 
     @Override
     @Transactional
     public int decrementSlotIfAvailable(UUID eventId) {
+        // Resolved from the persistence context when called inside the reservation transaction
+        Event event = findById(eventId);
+        if (event.getSlotShardCount() > 0) {
+            return decrementSlotShard(eventId, event.getSlotShardCount());
+        }
+
         return repository.decrementSlotIfAvailable(eventId);
     }
 
+    // Gives back a slot taken by decrementSlotIfAvailable; sharded events get it on a random shard
+    @Override
+    @Transactional
+    public void releaseSlot(UUID eventId) {
+        Event event = findById(eventId);
+        if (event.getSlotShardCount() > 0) {
+            repository.incrementSlotShard(eventId, ThreadLocalRandom.current().nextInt(event.getSlotShardCount()));
+            return;
+        }
+
+        repository.incrementSlot(eventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getAvailableSlots(UUID eventId) {
+        return repository.findAvailableSlots(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException(RESOURCE_NAME, "id", eventId));
+    }
+
+    // Random starting shard spreads concurrent reservations; the blocking fallback only reports 0 when truly sold out
+    private int decrementSlotShard(UUID eventId, int shardCount) {
+        int startShard = ThreadLocalRandom.current().nextInt(shardCount);
+        int updated = repository.decrementSlotShardSkipLocked(eventId, startShard);
+        if (updated > 0) {
+            return updated;
+        }
+
+        return repository.decrementSlotShard(eventId);
+    }
+
+    // For sharded events numberOfSlots keeps the provisioned capacity; remaining slots are tracked per shard
+    private void provisionSlotShards(Event event) {
+        if (event.getSlotShardCount() <= 0) {
+            return;
+        }
+
+        int shardCount = Math.min(event.getSlotShardCount(), event.getNumberOfSlots());
+        if (shardCount != event.getSlotShardCount()) {
+            event.setSlotShardCount(shardCount);
+        }
+        repository.flush(); // The shard rows reference the new event row
+        repository.createSlotShards(event.getId(), shardCount, event.getNumberOfSlots());
+    }
+
+    // Deferred until commit by the transaction-aware cache manager
+    private void evictPublicEvent(String slug) {
+        Cache cache = cacheManager.getCache(PUBLIC_EVENTS_CACHE);
+        if (Objects.nonNull(cache) && Objects.nonNull(slug)) {
+            cache.evict(slug);
+        }
+    }
+
     private void validateEventDates(Instant startDate, Instant endDate) {
         if (endDate.isBefore(startDate)) {
             throw new BadRequestException("End date cannot be before start date.");
         }
     }
 
-    private void validateTitle(String title) {
-        if(repository.existsByTitleIgnoreCase(title)) {
-            throw new DuplicateResourceException("An event with the same title already exists.");
+    /**
+     * Title and slug uniqueness are enforced by unique indexes (uq_events_lower_title, events_slug_key);
+     * flushing here surfaces a violation as a DuplicateResourceException instead of a 500 at commit.
+     */
+    private Event saveAndFlush(Event event) {
+        try {
+            return repository.saveAndFlush(event);
+        } catch (DataIntegrityViolationException e) {
+            if (isViolationOf(e, TITLE_UNIQUE_INDEX)) {
+                throw new DuplicateResourceException("An event with the same title already exists.");
+            }
+            if (isViolationOf(e, SLUG_UNIQUE_INDEX)) {
+                // Another event with a title that maps to the same slug was created concurrently
+                throw new DuplicateResourceException("An event with a similar title was just created. Please try again.");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Slug for the title, suffixed with -2, -3, ... when taken (each probe is a unique index lookup),
+     * then with a random suffix so creation cost stays flat however many events share a base slug.
+     */
+    private String uniqueSlug(String title, String currentSlug) {
+        String baseSlug = generateSlug(title);
+        if (baseSlug.isEmpty()) {
+            baseSlug = "event"; // Titles without any letters or digits
+        }
+
+        String slug = baseSlug;
+        for (int suffix = 2; suffix <= MAX_NUMBERED_SLUG_SUFFIX + 1; suffix++) {
+            if (slug.equals(currentSlug) || !repository.existsBySlug(slug)) {
+                return slug;
+            }
+            slug = baseSlug + "-" + suffix;
         }
+
+        return baseSlug + "-" + Long.toString(ThreadLocalRandom.current().nextLong(36L * 36 * 36 * 36 * 36 * 36), 36);
     }
 
     private void processAgendas(Event event) {
@@ -5,23 +5,76 @@ import java.util.List;
 import java.util.Locale;
 
 public class EventUtil {
+    /**
+     * Lowercases, strips accents and keeps [a-z0-9]; runs of whitespace/hyphens become a single hyphen,
+     * with none at either end. Single pass over the title; ASCII titles skip lowercasing and NFD normalization.
+     */
     public static String generateSlug(String title) {
-        // Convert to lowercase
-        String slug = title.toLowerCase(Locale.ROOT);
-        // Remove accents and special characters
-        slug = Normalizer.normalize(slug, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", ""); // Removes combining diacritical marks
-        // Replace non-alphanumeric characters with hyphens
-        slug = slug.replaceAll("[^a-z0-9\\s-]", "");
-        // Replace whitespace and consecutive hyphens with a single hyphen
-        slug = slug.replaceAll("\\s+", "-").replaceAll("-{2,}", "-");
-        // Trim leading or trailing hyphens
-        slug = slug.replaceAll("^-|-$", "");
-
-        return slug;
+        String text = title;
+        boolean ascii = isAscii(title);
+        if (!ascii) {
+            // Remove accents: NFD splits them into combining marks, which the scan below drops
+            text = Normalizer.normalize(title.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        }
+
+        StringBuilder slug = new StringBuilder(text.length());
+        boolean pendingHyphen = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (ascii && c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (pendingHyphen && !slug.isEmpty()) {
+                    slug.append('-');
+                }
+                pendingHyphen = false;
+                slug.append(c);
+            } else if (c == '-' || isWhitespace(c)) {
+                pendingHyphen = true;
+            }
+            // Anything else is dropped without separating words, e.g. "rock'n'roll" -> "rocknroll"
+        }
+
+        return slug.toString();
+    }
+
+    /**
+     * Turns a title filter into a to_tsquery('simple', ...) expression that matches titles containing a word
+     * starting with each term, e.g. "Tech conf" -> "tech:*A & conf:*A". The A weight limits the match to the
+     * title part of search_vector. Returns null when the filter has no letters or digits to search for.
+     */
+    public static String toTitleSearchQuery(String title) {
+        StringBuilder query = new StringBuilder();
+        for (String term : title.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (!query.isEmpty()) {
+                query.append(" & ");
+            }
+            query.append(term).append(":*A");
+        }
+
+        return query.isEmpty() ? null : query.toString();
     }
 
     public static boolean isNullOrEmpty(List<?> list) {
         return list == null || list.isEmpty();
     }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Regex \s: [ \t\n\x0B\f\r]
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
 }
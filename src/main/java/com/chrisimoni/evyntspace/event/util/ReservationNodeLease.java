@@ -0,0 +1,98 @@
+package com.chrisimoni.evyntspace.event.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lease on one reservation number node id, held in reservation_number_node_leases (see V32).
+ * An id is only handed out while no live lease holds it; the holder renews the lease on a heartbeat and
+ * stops issuing ids once its own view of the lease has run out, which is measured from before the last
+ * successful renewal was sent, so it always ends before the database lets another instance take the id.
+ */
+@Slf4j
+class ReservationNodeLease {
+    private static final int MAX_ACQUIRE_ATTEMPTS = 5;
+
+    // Lowest node id without a live lease; a concurrent starter racing for the same id gets no row back
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO reservation_number_node_leases (node_id, lease_owner, expires_at)
+            SELECT g, ?, NOW() + ? * INTERVAL '1 second'
+            FROM generate_series(0, ?) g
+            WHERE NOT EXISTS (
+                SELECT 1 FROM reservation_number_node_leases l WHERE l.node_id = g AND l.expires_at > NOW()
+            )
+            ORDER BY g
+            LIMIT 1
+            ON CONFLICT (node_id) DO UPDATE
+            SET lease_owner = EXCLUDED.lease_owner, expires_at = EXCLUDED.expires_at
+            WHERE reservation_number_node_leases.expires_at <= NOW()
+            RETURNING node_id
+            """;
+
+    private static final String RENEW_SQL = """
+            UPDATE reservation_number_node_leases
+            SET expires_at = NOW() + ? * INTERVAL '1 second'
+            WHERE node_id = ? AND lease_owner = ? AND expires_at > NOW()
+            """;
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM reservation_number_node_leases WHERE node_id = ? AND lease_owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long leaseSeconds;
+    private final String owner = UUID.randomUUID().toString();
+    private final int maxNodeId;
+
+    private volatile int nodeId = -1;
+    private volatile long validUntilNanos;
+
+    ReservationNodeLease(JdbcTemplate jdbcTemplate, Duration duration, int maxNodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseSeconds = duration.toSeconds();
+        this.maxNodeId = maxNodeId;
+    }
+
+    int acquire() {
+        for (int attempt = 1; attempt <= MAX_ACQUIRE_ATTEMPTS; attempt++) {
+            long requestedAt = System.nanoTime();
+            List<Integer> leased = jdbcTemplate.queryForList(ACQUIRE_SQL, Integer.class, owner, leaseSeconds, maxNodeId);
+            if (!leased.isEmpty()) {
+                nodeId = leased.get(0);
+                validUntilNanos = requestedAt + Duration.ofSeconds(leaseSeconds).toNanos();
+                log.info("Leased reservation number node id {} for {}s.", nodeId, leaseSeconds);
+                return nodeId;
+            }
+        }
+
+        throw new IllegalStateException("No reservation number node id is free: all " + (maxNodeId + 1)
+                + " are leased by running instances. Set enrollment.reservation-number.node-id explicitly "
+                + "or wait for stale leases to expire.");
+    }
+
+    // False when the lease was lost (it expired and may now belong to another instance)
+    boolean renew() {
+        long requestedAt = System.nanoTime();
+        if (jdbcTemplate.update(RENEW_SQL, leaseSeconds, nodeId, owner) == 1) {
+            validUntilNanos = requestedAt + Duration.ofSeconds(leaseSeconds).toNanos();
+            return true;
+        }
+
+        log.warn("Lost the lease on reservation number node id {}.", nodeId);
+        return false;
+    }
+
+    void release() {
+        jdbcTemplate.update(RELEASE_SQL, nodeId, owner);
+    }
+
+    void checkValid() {
+        if (System.nanoTime() - validUntilNanos >= 0) {
+            throw new IllegalStateException("The lease on reservation number node id " + nodeId
+                    + " has expired; no reservation numbers are issued until it is renewed.");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.chrisimoni.evyntspace.event.util;
+
+/**
+ * Source of enrollment reservation numbers. Numbers must be unique across all instances,
+ * since reservation_number is UNIQUE and a collision fails the whole reservation.
+ */
+public interface ReservationNumberGenerator {
+    String next();
+}
@@ -0,0 +1,116 @@
+package com.chrisimoni.evyntspace.event.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, time-ordered reservation numbers: "#" followed by 13 Crockford base32 characters encoding
+ * a 64-bit id of 41 bits of milliseconds since 2024-01-01, 10 bits of node id and 13 bits of sequence.
+ * Ids increase per node (a clock moving backwards is ignored, a full sequence borrows the next millisecond)
+ * and the fixed-length encoding sorts like the ids. The node id is configured with
+ * enrollment.reservation-number.node-id or, by default, leased from the database at startup (see
+ * ReservationNodeLease) and renewed on a heartbeat. A leased id is never handed to a second instance while
+ * its lease is live, and ids are refused once this instance's lease runs out, so running instances never
+ * share a node id. A configured id must be unique per instance.
+ */
+@Component
+public class TimeOrderedReservationNumberGenerator implements ReservationNumberGenerator {
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 13;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    static final int ENCODED_LENGTH = 13; // ceil(64 / 5)
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final LongSupplier clock;
+    private final ReservationNodeLease lease; // null when the node id is configured
+    private volatile long nodeBits;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence); the node id is kept apart in nodeBits
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    @Autowired
+    public TimeOrderedReservationNumberGenerator(
+            @Value("${enrollment.reservation-number.node-id:-1}") int nodeId,
+            @Value("${enrollment.reservation-number.lease-seconds:60}") long leaseSeconds,
+            JdbcTemplate jdbcTemplate) {
+        this(nodeId, nodeId >= 0 ? null
+                : new ReservationNodeLease(jdbcTemplate, Duration.ofSeconds(leaseSeconds), MAX_NODE_ID),
+                System::currentTimeMillis);
+    }
+
+    TimeOrderedReservationNumberGenerator(int nodeId, LongSupplier clock) {
+        this(nodeId, null, clock);
+    }
+
+    private TimeOrderedReservationNumberGenerator(int nodeId, ReservationNodeLease lease, LongSupplier clock) {
+        this.lease = lease;
+        this.clock = clock;
+        this.nodeBits = toNodeBits(lease != null ? lease.acquire() : nodeId);
+    }
+
+    // Heartbeat; must run well within lease-seconds. A lost lease is replaced by a newly leased node id
+    @Scheduled(fixedDelayString = "${enrollment.reservation-number.lease-renew-interval-ms:15000}")
+    public void renewLease() {
+        if (lease != null && !lease.renew()) {
+            nodeBits = toNodeBits(lease.acquire());
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (lease != null) {
+            lease.release();
+        }
+    }
+
+    @Override
+    public String next() {
+        return "#" + encode(nextId());
+    }
+
+    long nextId() {
+        if (lease != null) {
+            lease.checkValid();
+        }
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long last = lastTimestampAndSequence.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long candidate = now > lastTimestamp
+                    ? now << SEQUENCE_BITS
+                    : last + 1; // Same millisecond (or clock behind): next sequence, overflowing into the next ms
+            if (lastTimestampAndSequence.compareAndSet(last, candidate)) {
+                long timestamp = candidate >>> SEQUENCE_BITS;
+                return timestamp << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (candidate & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    // Fixed width, most significant character first, so string order matches numeric order
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static long toNodeBits(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Reservation number node id must be between 0 and " + MAX_NODE_ID);
+        }
+        return (long) nodeId << SEQUENCE_BITS;
+    }
+}
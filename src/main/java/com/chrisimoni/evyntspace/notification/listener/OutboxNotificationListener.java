@@ -0,0 +1,62 @@
+package com.chrisimoni.evyntspace.notification.listener;
+
+import com.chrisimoni.evyntspace.common.events.LoginCodeNotificationEvent;
+import com.chrisimoni.evyntspace.common.events.PasswordResetNotificationEvent;
+import com.chrisimoni.evyntspace.common.events.PaymentRefundNotificationEvent;
+import com.chrisimoni.evyntspace.common.events.ReservationConfirmationEvent;
+import com.chrisimoni.evyntspace.common.events.VerificationCodeRequestedEvent;
+import com.chrisimoni.evyntspace.notification.enums.NotificationType;
+import com.chrisimoni.evyntspace.notification.model.MessageDetails;
+import com.chrisimoni.evyntspace.notification.service.NotificationMessageFactory;
+import com.chrisimoni.evyntspace.notification.service.outbox.NotificationOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Write-ahead delivery mode: every notification is stored as a PENDING outbox row inside the
+ * publishing transaction (BEFORE_COMMIT), so it is persisted atomically with the change that caused it.
+ * Nothing is rendered or sent here; NotificationOutboxJob drains the table.
+ * Events published outside a transaction are enqueued immediately (fallbackExecution).
+ */
+@Component
+@ConditionalOnProperty(name = "notification.outbox.write-ahead", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxNotificationListener {
+    private final NotificationOutboxService outboxService;
+    private final NotificationMessageFactory messageFactory;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleVerificationCodeRequestedEvent(VerificationCodeRequestedEvent event) {
+        enqueue(messageFactory.verificationCode(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleLoginCodeNotificationEvent(LoginCodeNotificationEvent event) {
+        enqueue(messageFactory.loginCode(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handlePasswordResetNotificationEvent(PasswordResetNotificationEvent event) {
+        enqueue(messageFactory.passwordReset(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handlePaymentRefundNotificationEvent(PaymentRefundNotificationEvent event) {
+        enqueue(messageFactory.paymentRefund(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleReservationConfirmationEvent(ReservationConfirmationEvent event) {
+        enqueue(messageFactory.reservationConfirmation(event));
+    }
+
+    private void enqueue(MessageDetails messageDetails) {
+        outboxService.enqueue(messageDetails, NotificationType.EMAIL);
+        log.info("Queued {} for {}.", messageDetails.getMessageTemplate(), messageDetails.getRecipient());
+    }
+}
@@ -22,6 +22,8 @@ public class MessageDetails implements Serializable {
     private String recipientName;
     private MessageTemplate messageTemplate;
     private Map<String, Object> templateModel;
+    // Payload of a QR code sent as an inline attachment (cid:QrCodeService.CONTENT_ID); the image itself is never stored
+    private String qrCodePayload;
 
     public MessageDetails(String recipient, MessageTemplate messageTemplate, Map<String, Object> templateModel) {
         this.recipient = recipient;
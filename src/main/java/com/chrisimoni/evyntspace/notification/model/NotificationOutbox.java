@@ -32,6 +32,9 @@ public class NotificationOutbox extends BaseEntity {
     private Instant lastAttemptTime;
     private String lastError;
     private Instant nextAttemptTime;
+    // Set while a worker owns the message; other claimers skip it until the lease expires
+    private Instant leaseExpiresAt;
+    private String leasedBy;
 
     public NotificationOutbox(MessageDetails messageDetails, NotificationType notificationType) {
         this.messageDetails = messageDetails;
@@ -41,9 +44,15 @@ public class NotificationOutbox extends BaseEntity {
         this.nextAttemptTime = Instant.now();
     }
 
+    public void lease(String owner, Instant leaseExpiresAt) {
+        this.leasedBy = owner;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
     // Method to mark as failed for retry
     public void markAsFailed(String error, Instant nextAttemptTime) {
         this.status = NotificationStatus.FAILED;
+        releaseLease();
         this.lastError = setErrorMessage(error);
         this.nextAttemptTime = nextAttemptTime;
     }
@@ -51,6 +60,7 @@ public class NotificationOutbox extends BaseEntity {
     // Method to mark as sent
     public void markAsSent() {
         this.status = NotificationStatus.SENT;
+        releaseLease();
         this.lastAttemptTime = Instant.now();
         this.nextAttemptTime = null; // No further attempts needed
     }
@@ -58,10 +68,16 @@ public class NotificationOutbox extends BaseEntity {
     // Method to mark as permanently failed
     public void markPermanentFailure(String error) {
         this.status = NotificationStatus.PERMANENT_FAILURE;
+        releaseLease();
         this.lastError = setErrorMessage(error);
         this.nextAttemptTime = null; // No further attempts
     }
 
+    private void releaseLease() {
+        this.leasedBy = null;
+        this.leaseExpiresAt = null;
+    }
+
     private String setErrorMessage(String error) {
         return Objects.nonNull(error)
                 ? error.substring(0, Math.min(error.length(), 255))
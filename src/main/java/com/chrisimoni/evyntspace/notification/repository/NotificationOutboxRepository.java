@@ -2,10 +2,14 @@ package com.chrisimoni.evyntspace.notification.repository;
 
 import com.chrisimoni.evyntspace.notification.enums.NotificationStatus;
 import com.chrisimoni.evyntspace.notification.model.NotificationOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -24,20 +28,25 @@ public interface NotificationOutboxRepository extends JpaRepository<Notification
             @Param("failedStatus") NotificationStatus failedStatus,
             Pageable pageable);
 
-    //When pending is introduced later on
-    // Alternative query if nextAttemptTime is NULL for initial PENDING items (process immediately)
-    // Find PENDING (with next_attempt_time is null or <= now) OR FAILED (with next_attempt_time <= now)
-//    @Query("""
-//        SELECT no FROM NotificationOutbox no
-//        WHERE (no.status = :pendingStatus AND (no.nextAttemptTime IS NULL OR no.nextAttemptTime <= :now))
-//           OR (no.status = :failedStatus AND no.nextAttemptTime <= :now)
-//        ORDER BY no.nextAttemptTime ASC, no.createdAt ASC
-//    """)
-//    List<NotificationOutbox> findMessagesToProcess(
-//            @Param("pendingStatus") NotificationStatus pendingStatus,
-//            @Param("failedStatus") NotificationStatus failedStatus,
-//            @Param("now") Instant now,
-//            Pageable pageable);
+    /**
+     * Claims due messages for this worker: new PENDING rows (write-ahead mode) and FAILED rows awaiting retry.
+     * Rows are locked FOR UPDATE SKIP LOCKED (lock timeout -2), so concurrent claimers on other instances
+     * get disjoint batches instead of waiting; rows under an unexpired lease are left alone.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT no FROM NotificationOutbox no
+        WHERE (no.status = :pendingStatus OR no.status = :failedStatus)
+          AND no.nextAttemptTime <= :now
+          AND (no.leaseExpiresAt IS NULL OR no.leaseExpiresAt < :now)
+        ORDER BY no.nextAttemptTime ASC, no.createdAt ASC
+    """)
+    List<NotificationOutbox> findAndLockMessagesToClaim(
+            @Param("pendingStatus") NotificationStatus pendingStatus,
+            @Param("failedStatus") NotificationStatus failedStatus,
+            @Param("now") Instant now,
+            Pageable pageable);
 
     /**
      * Deletes old SENT and PERMANENT_FAILURE records to prevent table growth.
@@ -1,23 +1,24 @@
 package com.chrisimoni.evyntspace.notification.scheduler;
 
-import com.chrisimoni.evyntspace.notification.enums.NotificationStatus;
+import com.chrisimoni.evyntspace.common.config.AsyncConfig;
 import com.chrisimoni.evyntspace.notification.model.NotificationOutbox;
 import com.chrisimoni.evyntspace.notification.service.outbox.NotificationOutboxService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class NotificationOutboxJob {
     private final NotificationOutboxService outboxService;
+    private final AsyncTaskExecutor outboxExecutor;
 
     @Value("${notification.outbox.processing-batch-size}")
     private int processingBatchSize;
@@ -25,37 +26,61 @@ public class NotificationOutboxJob {
     @Value("${notification.outbox.cleanup-retention-days:7}")
     private int retentionDays;
 
+    @Value("${notification.outbox.write-ahead:false}")
+    private boolean writeAhead;
+
+    public NotificationOutboxJob(
+            NotificationOutboxService outboxService,
+            @Qualifier(AsyncConfig.OUTBOX_EXECUTOR) AsyncTaskExecutor outboxExecutor) {
+        this.outboxService = outboxService;
+        this.outboxExecutor = outboxExecutor;
+    }
+
     @Scheduled(cron = "${notification.outbox.processing-cron-expression}")
     protected void processOutboxMessages() {
         log.info("NotificationOutboxJob running at {}. Looking for messages to process...", Instant.now());
+        dispatchBatch();
+    }
 
-        // Fetch messages ready for processing (NotificationOutboxService handles logic)
-        List<NotificationOutbox> messagesToProcess = outboxService.findFailedMessagesToProcess(
-                NotificationStatus.FAILED,
-                PageRequest.of(0, processingBatchSize)
-        );
+    /**
+     * Write-ahead mode: every notification goes through the outbox, so it is drained continuously
+     * rather than once a minute. One batch per run keeps the shared scheduler thread available to other jobs.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.dispatch-interval-ms:1000}")
+    protected void drainOutbox() {
+        if (writeAhead) {
+            dispatchBatch();
+        }
+    }
+
+    private void dispatchBatch() {
+        // Lease messages ready for processing; other workers/instances skip leased rows
+        List<NotificationOutbox> messagesToProcess = outboxService.claimMessagesToProcess(processingBatchSize);
 
         if (messagesToProcess.isEmpty()) {
             return;
         }
 
-        log.info("Found {} outbox messages to process.", messagesToProcess.size());
-        for (NotificationOutbox message : messagesToProcess) {
-            try {
-                // Delegate processing of each message to the outboxService.
-                // This method is @Transactional(REQUIRES_NEW), so each message is processed atomically.
-                outboxService.processSingleOutboxMessage(message);
-            } catch (Exception e) {
-                // Log and continue if a single message processing fails within its own transaction.
-                // The status update for the message (e.g., permanent failure) should happen inside
-                // processSingleOutboxMessage. This catch is for unexpected errors preventing that.
-                log.error("An unexpected error occurred while attempting to process outbox message ID {}: {}",
-                        message.getId(), e.getMessage(), e);
-            }
-        }
+        log.info("Claimed {} outbox messages to process.", messagesToProcess.size());
+        // Dispatch on the bounded outbox worker pool and wait, so the next run only claims once this batch is done
+        CompletableFuture<?>[] dispatches = messagesToProcess.stream()
+                .map(message -> CompletableFuture.runAsync(() -> processMessage(message), outboxExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(dispatches).join();
         log.info("NotificationOutboxJob finished processing batch.");
     }
 
+    private void processMessage(NotificationOutbox message) {
+        try {
+            // The outcome (SENT, FAILED with next retry, or permanent failure) is saved by the service
+            outboxService.processSingleOutboxMessage(message);
+        } catch (Exception e) {
+            // Log and continue; the lease expires and the message is claimed again later.
+            log.error("An unexpected error occurred while attempting to process outbox message ID {}: {}",
+                    message.getId(), e.getMessage(), e);
+        }
+    }
+
     /**
      * Runs daily at 2 AM to clean up old SENT and PERMANENT_FAILURE records.
      * This prevents the outbox table from growing indefinitely.
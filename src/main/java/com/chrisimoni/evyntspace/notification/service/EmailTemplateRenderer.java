@@ -0,0 +1,146 @@
+package com.chrisimoni.evyntspace.notification.service;
+
+import com.chrisimoni.evyntspace.notification.enums.MessageTemplate;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.chrisimoni.evyntspace.notification.constant.NotificationTemplateConstants.*;
+
+/**
+ * Renders email bodies. Template names are resolved once per MessageTemplate, every template is rendered
+ * once at startup so Thymeleaf's parsed-template and expression caches are warm before the first burst,
+ * and the per-event blocks of the reservation email are rendered once per event version and reused.
+ */
+@Component
+@Slf4j
+public class EmailTemplateRenderer {
+    private static final String RESERVATION_FRAGMENTS_TEMPLATE = "emails/fragments/reservation-event";
+    private static final Set<String> RESERVATION_FRAGMENTS = Set.of("header", "event", "organizer", "location");
+
+    private final SpringTemplateEngine templateEngine;
+    private final Map<MessageTemplate, String> templateNames = new EnumMap<>(MessageTemplate.class);
+    private final Cache<String, Map<String, String>> eventFragments;
+
+    public EmailTemplateRenderer(
+            SpringTemplateEngine templateEngine,
+            @Value("${notification.email.fragment-cache.maximum-size:1000}") long maximumSize,
+            @Value("${notification.email.fragment-cache.expire-after-access-minutes:60}") long expireAfterAccessMinutes) {
+        this.templateEngine = templateEngine;
+        this.eventFragments = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .build();
+
+        // e.g. RESERVATION_CONFIRMATION_NOTIFICATION -> emails/reservation-confirmation-email
+        for (MessageTemplate template : MessageTemplate.values()) {
+            String name = template.name()
+                    .toLowerCase()
+                    .replace("notification", "email")
+                    .replace('_', '-');
+            templateNames.put(template, "emails/" + name);
+        }
+    }
+
+    public String render(MessageTemplate template, Map<String, Object> model) {
+        Map<String, Object> variables = template == MessageTemplate.RESERVATION_CONFIRMATION_NOTIFICATION
+                ? withEventFragments(model)
+                : model;
+
+        Context context = new Context();
+        context.setVariables(variables);
+        return templateEngine.process(templateNames.get(template), context);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (MessageTemplate template : MessageTemplate.values()) {
+            try {
+                render(template, sampleModel(template));
+            } catch (RuntimeException e) {
+                log.warn("Email template warm-up failed for {}: {}", template, e.getMessage());
+            }
+        }
+        eventFragments.invalidateAll(); // Drop the sample event's fragments
+        log.info("Warmed up {} email templates.", templateNames.size());
+    }
+
+    private Map<String, Object> withEventFragments(Map<String, Object> model) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> eventModel = (Map<String, Object>) model.get("event");
+        Object eventId = eventModel.get("id");
+        Object eventVersion = eventModel.get("version");
+
+        // Messages queued before events carried an id/version are rendered without the cache
+        Map<String, String> fragments = Objects.isNull(eventId) || Objects.isNull(eventVersion)
+                ? renderEventFragments(model)
+                : eventFragments.get(eventId + ":" + eventVersion, key -> renderEventFragments(model));
+
+        Map<String, Object> variables = new HashMap<>(model);
+        variables.put("fragments", fragments);
+        return variables;
+    }
+
+    private Map<String, String> renderEventFragments(Map<String, Object> model) {
+        Context context = new Context();
+        context.setVariable("event", model.get("event"));
+        context.setVariable("organizer", model.get("organizer"));
+
+        Map<String, String> fragments = new HashMap<>();
+        for (String fragment : RESERVATION_FRAGMENTS) {
+            fragments.put(fragment, templateEngine.process(RESERVATION_FRAGMENTS_TEMPLATE, Set.of(fragment), context));
+        }
+        return Map.copyOf(fragments);
+    }
+
+    // Representative data that exercises every expression in the template
+    static Map<String, Object> sampleModel(MessageTemplate template) {
+        return switch (template) {
+            case VERIFICATION_NOTIFICATION, LOGIN_CODE_NOTIFICATION -> Map.of(
+                    RECIPIENT, "warmup@example.com",
+                    VERIFICATION_CODE_KEY, "000000",
+                    CODE_VALIDITY_KEY, 10);
+            case PASSWORD_RESET_NOTIFICATION -> Map.of(
+                    RESET_URL_KEY, "https://example.com/reset",
+                    CODE_VALIDITY_KEY, 10);
+            case PAYMENT_REFUND_NOTIFICATION -> Map.of(
+                    "firstName", "Warm",
+                    "eventTitle", "Warm-up Event",
+                    "amount", 10);
+            case RESERVATION_CONFIRMATION_NOTIFICATION -> {
+                Map<String, Object> event = new HashMap<>();
+                event.put("id", "warmup");
+                event.put("version", "0");
+                event.put("title", "Warm-up Event");
+                event.put("summary", "Warm-up summary");
+                event.put("imageUrl", "https://example.com/event.png");
+                event.put("isPaid", true);
+                event.put("fee", 10);
+                event.put("type", "PHYSICAL");
+                event.put("venue", "Venue");
+                event.put("address", "Address");
+                event.put("meetingLink", null);
+                event.put("mapLink", "https://example.com/map");
+                yield Map.of(
+                        "event", event,
+                        "ticket", Map.of("reservationNumber", "#0"),
+                        "attendee", Map.of("name", "Warm Up", "email", "warmup@example.com"),
+                        "organizer", Map.of("name", "Organizer", "email", "organizer@example.com"),
+                        "qrCodeUrl", "");
+            }
+        };
+    }
+}
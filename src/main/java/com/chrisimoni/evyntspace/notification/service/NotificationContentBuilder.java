@@ -4,9 +4,8 @@ import com.chrisimoni.evyntspace.notification.model.MessageDetails;
 import com.chrisimoni.evyntspace.notification.enums.MessageTemplate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import static com.chrisimoni.evyntspace.notification.constant.NotificationTemplateConstants.VERIFICATION_CODE_KEY;
@@ -14,27 +13,39 @@ import static com.chrisimoni.evyntspace.notification.constant.NotificationTempla
 @Service
 @RequiredArgsConstructor
 public class NotificationContentBuilder {
-    private final SpringTemplateEngine templateEngine; // For Thymeleaf
+    private static final String PHYSICAL_EVENT_TYPE = "PHYSICAL";
 
-    public MessageDetails createMessageDetails(String recipient, MessageTemplate messageTemplate, Map<String, Object> templateModel) {
-        MessageDetails messageDetails = new MessageDetails(recipient, messageTemplate, templateModel);
-        String subject = getSubjectForTemplate(
-                messageDetails.getMessageTemplate(), messageDetails.getTemplateModel());
-        String body = buildHtmlBody(messageDetails.getMessageTemplate(), messageDetails.getTemplateModel());
-        messageDetails.setSubject(subject);
-        messageDetails.setBody(body);
+    private final EmailTemplateRenderer templateRenderer;
+
+    // Fills in subject and HTML body; the template model is left untouched so the details can be re-rendered
+    public MessageDetails render(MessageDetails messageDetails) {
+        Map<String, Object> model = withRenderTimeAttributes(messageDetails);
+        messageDetails.setSubject(getSubjectForTemplate(messageDetails.getMessageTemplate(), model));
+        messageDetails.setBody(templateRenderer.render(messageDetails.getMessageTemplate(), model));
 
         return messageDetails;
     }
 
-    private String buildHtmlBody(MessageTemplate messageTemplate, Map<String, Object> model) {
-        Context context = new Context();
-        context.setVariables(model);
-        String emailTemplate = messageTemplate.name()
-                .toLowerCase()
-                .replace("notification", "email")
-                .replace('_', '-');
-        return templateEngine.process("emails/" + emailTemplate, context);
+    // The ticket QR code (physical events only) is referenced by CID; the gateway attaches the image when sending
+    private Map<String, Object> withRenderTimeAttributes(MessageDetails messageDetails) {
+        Map<String, Object> model = messageDetails.getTemplateModel();
+        if (messageDetails.getMessageTemplate() != MessageTemplate.RESERVATION_CONFIRMATION_NOTIFICATION) {
+            return model;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> eventModel = (Map<String, Object>) model.get("event");
+        if (!PHYSICAL_EVENT_TYPE.equals(eventModel.get("type"))) {
+            return model;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> ticketModel = (Map<String, Object>) model.get("ticket");
+        messageDetails.setQrCodePayload((String) ticketModel.get("reservationNumber"));
+
+        Map<String, Object> renderModel = new HashMap<>(model);
+        renderModel.put("qrCodeUrl", "cid:" + QrCodeService.CONTENT_ID);
+        return renderModel;
     }
 
     private String getSubjectForTemplate(MessageTemplate messageTemplate, Map<String, Object> model) {
@@ -0,0 +1,104 @@
+package com.chrisimoni.evyntspace.notification.service;
+
+import com.chrisimoni.evyntspace.common.events.LoginCodeNotificationEvent;
+import com.chrisimoni.evyntspace.common.events.PasswordResetNotificationEvent;
+import com.chrisimoni.evyntspace.common.events.PaymentRefundNotificationEvent;
+import com.chrisimoni.evyntspace.common.events.ReservationConfirmationEvent;
+import com.chrisimoni.evyntspace.common.events.VerificationCodeRequestedEvent;
+import com.chrisimoni.evyntspace.notification.enums.MessageTemplate;
+import com.chrisimoni.evyntspace.notification.model.MessageDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.chrisimoni.evyntspace.notification.constant.NotificationTemplateConstants.*;
+import static com.chrisimoni.evyntspace.notification.util.NotificationUtil.createMapLink;
+
+/**
+ * Turns application events into unrendered MessageDetails (recipient, template and model only).
+ * Rendering is left to NotificationContentBuilder so it can happen at send time,
+ * which keeps write-ahead outbox rows small.
+ */
+@Component
+public class NotificationMessageFactory {
+
+    public MessageDetails verificationCode(VerificationCodeRequestedEvent event) {
+        return verificationCode(event.getRecipient(), event.getVerificationCode(), event.getCodeValidityInMinutes(),
+                MessageTemplate.VERIFICATION_NOTIFICATION);
+    }
+
+    public MessageDetails loginCode(LoginCodeNotificationEvent event) {
+        return verificationCode(event.getRecipient(), event.getVerificationCode(), event.getCodeValidityInMinutes(),
+                MessageTemplate.LOGIN_CODE_NOTIFICATION);
+    }
+
+    public MessageDetails passwordReset(PasswordResetNotificationEvent event) {
+        Map<String, Object> templateModel = Map.of(
+                RESET_URL_KEY, event.getLink(),
+                CODE_VALIDITY_KEY, event.getValidity()
+        );
+
+        return new MessageDetails(event.getRecipient(), MessageTemplate.PASSWORD_RESET_NOTIFICATION, templateModel);
+    }
+
+    public MessageDetails paymentRefund(PaymentRefundNotificationEvent event) {
+        Map<String, Object> templateModel = new HashMap<>();
+        templateModel.put("firstName", event.getFirstName());
+        templateModel.put("eventTitle", event.getEventTitle());
+        templateModel.put("amount", event.getAmount());
+
+        return new MessageDetails(event.getEmail(), MessageTemplate.PAYMENT_REFUND_NOTIFICATION, templateModel);
+    }
+
+    // The QR code is added at render time from ticket.reservationNumber
+    public MessageDetails reservationConfirmation(ReservationConfirmationEvent event) {
+        Map<String, Object> templateModel = new HashMap<>();
+
+        // Add event details
+        String mapLink = Objects.isNull(event.getVenueAddress()) ? null : createMapLink(event.getVenueAddress());
+        Map<String, Object> eventModel = new HashMap<>();
+        eventModel.put("id", Objects.toString(event.getEventId(), null));
+        eventModel.put("version", Objects.toString(event.getEventVersion(), null));
+        eventModel.put("title", event.getEventTitle());
+        eventModel.put("summary", event.getEventSummary());
+        eventModel.put("imageUrl", event.getEventImageUrl());
+        eventModel.put("isPaid", event.isPaid());
+        eventModel.put("fee", event.getPrice());
+        eventModel.put("type", event.getEventType());
+        eventModel.put("venue", event.getVenueName());
+        eventModel.put("address", event.getVenueAddress());
+        eventModel.put("meetingLink", event.getMeetingLink());
+        eventModel.put("mapLink", mapLink);
+        templateModel.put("event", eventModel);
+
+        // Add ticket details
+        templateModel.put("ticket", Map.of("reservationNumber", event.getReservationNumber()));
+
+        // Add attendee details
+        Map<String, String> attendee = new HashMap<>();
+        attendee.put("name", event.getFirstName() + " " + event.getLastName());
+        attendee.put("email", event.getEmail());
+        templateModel.put("attendee", attendee);
+
+        // Add organizer details
+        Map<String, String> organizer = new HashMap<>();
+        organizer.put("name", event.getOrganizer());
+        organizer.put("email", event.getOrganizerEmail());
+        templateModel.put("organizer", organizer);
+
+        return new MessageDetails(event.getEmail(), MessageTemplate.RESERVATION_CONFIRMATION_NOTIFICATION, templateModel);
+    }
+
+    private MessageDetails verificationCode(
+            String recipient, String verificationCode, int codeValidityInMinutes, MessageTemplate template) {
+        Map<String, Object> templateModel = Map.of(
+                RECIPIENT, recipient,
+                VERIFICATION_CODE_KEY, verificationCode,
+                CODE_VALIDITY_KEY, codeValidityInMinutes
+        );
+
+        return new MessageDetails(recipient, template, templateModel);
+    }
+}
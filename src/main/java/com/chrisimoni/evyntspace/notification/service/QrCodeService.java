@@ -0,0 +1,150 @@
+package com.chrisimoni.evyntspace.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Generates ticket QR codes as PNG bytes, sent as inline (CID) email attachments.
+ * The PNG is written straight from the zxing BitMatrix as a 1-bit grayscale image, skipping the
+ * BufferedImage/ImageIO round trip, and cached by payload so outbox retries and resends reuse it.
+ */
+@Service
+public class QrCodeService {
+    public static final String CONTENT_ID = "ticket-qr-code";
+    public static final String CONTENT_TYPE = "image/png";
+
+    private static final int TARGET_SIZE_PX = 300;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final Map<EncodeHintType, Object> HINTS = new EnumMap<>(Map.of(
+            EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name(),
+            EncodeHintType.MARGIN, 1, // quiet zone
+            EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M)); // L/M/Q/H
+
+    private final Cache<String, byte[]> pngCache;
+
+    public QrCodeService(
+            @Value("${notification.qr-code.cache.maximum-size:10000}") long maximumSize,
+            @Value("${notification.qr-code.cache.expire-after-access-minutes:1440}") long expireAfterAccessMinutes) {
+        this.pngCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .build();
+    }
+
+    // Callers must not modify the returned array, it is shared through the cache
+    public byte[] generatePng(String payload) {
+        if (payload == null || payload.isBlank()) {
+            throw new IllegalArgumentException("QR payload must not be empty.");
+        }
+
+        return pngCache.get(payload, this::encode);
+    }
+
+    private byte[] encode(String payload) {
+        try {
+            // Width/height 0 = one pixel per module; scaling happens while writing the rows
+            BitMatrix matrix = new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, 0, 0, HINTS);
+            int scale = Math.max(1, TARGET_SIZE_PX / matrix.getWidth());
+            return writePng(matrix, scale);
+        } catch (WriterException | IOException e) {
+            throw new RuntimeException("Failed to generate QR code", e);
+        }
+    }
+
+    static byte[] writePng(BitMatrix matrix, int scale) throws IOException {
+        int width = matrix.getWidth() * scale;
+        int height = matrix.getHeight() * scale;
+        ByteArrayOutputStream png = new ByteArrayOutputStream(1024);
+        png.write(PNG_SIGNATURE);
+
+        byte[] header = new byte[13];
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 1;  // bit depth
+        header[9] = 0;  // color type: grayscale
+        header[10] = 0; // compression
+        header[11] = 0; // filter
+        header[12] = 0; // no interlace
+        writeChunk(png, "IHDR", header, header.length);
+
+        // Each scanline: filter byte 0 followed by 1 bit per pixel (0 = black module, 1 = white)
+        byte[] row = new byte[1 + (width + 7) / 8];
+        ChunkBuffer imageData = new ChunkBuffer(1024);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream deflated = new DeflaterOutputStream(imageData, deflater)) {
+            for (int moduleY = 0; moduleY < matrix.getHeight(); moduleY++) {
+                Arrays.fill(row, (byte) 0);
+                for (int x = 0; x < width; x++) {
+                    if (!matrix.get(x / scale, moduleY)) {
+                        row[1 + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                    }
+                }
+                for (int repeat = 0; repeat < scale; repeat++) {
+                    deflated.write(row);
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        // Written from the deflate buffer itself, no intermediate copy of the compressed data
+        writeChunk(png, "IDAT", imageData.array(), imageData.size());
+        writeChunk(png, "IEND", new byte[0], 0);
+
+        return png.toByteArray();
+    }
+
+    private static void writeChunk(OutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] lengthBytes = new byte[4];
+        putInt(lengthBytes, 0, length);
+
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        byte[] crcBytes = new byte[4];
+        putInt(crcBytes, 0, (int) crc.getValue());
+
+        out.write(lengthBytes);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.write(crcBytes);
+    }
+
+    // Exposes the backing array so a chunk can be written from it without toByteArray()
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+        ChunkBuffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    private static void putInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
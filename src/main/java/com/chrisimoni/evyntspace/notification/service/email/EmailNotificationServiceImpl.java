@@ -7,6 +7,7 @@ import com.chrisimoni.evyntspace.notification.enums.NotificationType;
 import com.chrisimoni.evyntspace.notification.service.NotificationService;
 import com.chrisimoni.evyntspace.notification.service.email.gateway.EmailServiceGateway;
 import com.chrisimoni.evyntspace.notification.service.outbox.NotificationOutboxService;
+import com.chrisimoni.evyntspace.common.config.AsyncConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -20,7 +21,7 @@ public class EmailNotificationServiceImpl implements NotificationService {
     private final NotificationOutboxService outboxService;
 
     @Override
-    @Async
+    @Async(AsyncConfig.EMAIL_EXECUTOR)
     public void send(MessageDetails messageDetails) {
         try {
             emailSenderGateway.sendEmail(messageDetails);
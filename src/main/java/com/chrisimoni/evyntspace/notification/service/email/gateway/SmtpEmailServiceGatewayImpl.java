@@ -3,12 +3,14 @@ package com.chrisimoni.evyntspace.notification.service.email.gateway;
 import com.chrisimoni.evyntspace.common.exception.ExternalServiceException;
 import com.chrisimoni.evyntspace.notification.exception.PermanentEmailFailureException;
 import com.chrisimoni.evyntspace.notification.model.MessageDetails;
+import com.chrisimoni.evyntspace.notification.service.QrCodeService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mail.MailAuthenticationException;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -24,14 +26,18 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class SmtpEmailServiceGatewayImpl implements EmailServiceGateway {
     private final JavaMailSender mailSender;
+    private final QrCodeService qrCodeService;
 
     @Value("${notification.email.sender}")
     private String sender;
 
+    @Value("${notification.email.immediate-retry-attempts:3}")
+    private int immediateRetryAttempts;
+
     @Override
     @Retryable(
             retryFor = {MailSendException.class},
-            maxAttempts = 3,
+            maxAttemptsExpression = "${notification.email.immediate-retry-attempts:3}",
             backoff = @Backoff(delay = 5000, multiplier = 2)
     )
     public void sendEmail(MessageDetails messageDetails) {
@@ -43,6 +49,12 @@ public class SmtpEmailServiceGatewayImpl implements EmailServiceGateway {
             helper.setTo(messageDetails.getRecipient());
             helper.setSubject(messageDetails.getSubject());
             helper.setText(messageDetails.getBody(), true); //true indicates that the body is html
+            if (messageDetails.getQrCodePayload() != null) {
+                // Must come after setText; the body references it as cid:QrCodeService.CONTENT_ID
+                helper.addInline(QrCodeService.CONTENT_ID,
+                        new ByteArrayResource(qrCodeService.generatePng(messageDetails.getQrCodePayload())),
+                        QrCodeService.CONTENT_TYPE);
+            }
 
             mailSender.send(message);
             log.info("Email sent successfully to: {}", messageDetails.getRecipient());
@@ -69,7 +81,7 @@ public class SmtpEmailServiceGatewayImpl implements EmailServiceGateway {
     public void recover(MailSendException e, MessageDetails messageDetails) {
         // All immediate retries failed - save to outbox for delayed retry
         log.error("Email sending failed for recipient {} after {} immediate retry attempts. Will save to outbox for delayed retry.",
-                messageDetails.getRecipient(), 3);
+                messageDetails.getRecipient(), immediateRetryAttempts);
         throw new ExternalServiceException("Failed to send email after immediate retries - saving to outbox", e);
     }
 }
@@ -9,8 +9,10 @@ import org.springframework.data.domain.Pageable;
 import java.util.List;
 
 public interface NotificationOutboxService {
+    void enqueue(MessageDetails messageDetails, NotificationType notificationType);
     void saveFailedMessageToOutbox(MessageDetails messageDetails, NotificationType notificationType, String error);
     List<NotificationOutbox> findFailedMessagesToProcess(NotificationStatus notificationStatus, Pageable pageable);
+    List<NotificationOutbox> claimMessagesToProcess(int batchSize);
     void processSingleOutboxMessage(NotificationOutbox message);
     int deleteOldProcessedRecords(int retentionDays);
 }
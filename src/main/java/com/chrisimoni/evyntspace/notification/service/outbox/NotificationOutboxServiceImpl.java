@@ -5,10 +5,12 @@ import com.chrisimoni.evyntspace.notification.enums.NotificationType;
 import com.chrisimoni.evyntspace.notification.model.MessageDetails;
 import com.chrisimoni.evyntspace.notification.model.NotificationOutbox;
 import com.chrisimoni.evyntspace.notification.repository.NotificationOutboxRepository;
+import com.chrisimoni.evyntspace.notification.service.NotificationContentBuilder;
 import com.chrisimoni.evyntspace.notification.service.email.gateway.EmailServiceGateway;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -24,6 +26,7 @@ import java.util.List;
 public class NotificationOutboxServiceImpl implements NotificationOutboxService{
     private final NotificationOutboxRepository outboxRepository;
     private final EmailServiceGateway emailServiceGateway;
+    private final NotificationContentBuilder contentBuilder;
 
     @Value("${notification.outbox.max-retry-attempts}")
     private int maxRetryAttempts;
@@ -34,6 +37,21 @@ public class NotificationOutboxServiceImpl implements NotificationOutboxService{
     @Value("${notification.outbox.retry-interval-factor}")
     private int retryIntervalFactor;
 
+    // Must exceed the worst-case send time (including the gateway's in-process retries)
+    @Value("${notification.outbox.lease-duration-seconds:300}")
+    private long leaseDurationSeconds;
+
+    // Identifies this instance as lease owner, for troubleshooting
+    @Value("${notification.outbox.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRED) // Joins the publishing transaction (write-ahead)
+    public void enqueue(MessageDetails messageDetails, NotificationType type) {
+        // PENDING with nextAttemptTime = now: picked up by the next dispatcher run
+        outboxRepository.save(new NotificationOutbox(messageDetails, type));
+    }
+
     @Override
     @Transactional(propagation = Propagation.REQUIRED) // Ensure this save is part of the original transaction
     public void saveFailedMessageToOutbox(MessageDetails messageDetails, NotificationType type, String error) {
@@ -55,13 +73,34 @@ public class NotificationOutboxServiceImpl implements NotificationOutboxService{
     }
 
     /**
-     * Processes a single outbox message, attempting to send it and updating its status.
-     * This method is intended to be called by the scheduler.
-     * It runs in its own transaction to ensure each message's state is updated atomically.
+     * Leases a batch of due messages to this instance in a short transaction.
+     * The lease is committed before any message is sent, so the row locks are not held during SMTP calls.
+     */
+    @Override
+    @Transactional
+    public List<NotificationOutbox> claimMessagesToProcess(int batchSize) {
+        Instant now = Instant.now();
+        List<NotificationOutbox> messages = outboxRepository.findAndLockMessagesToClaim(
+                NotificationStatus.PENDING, NotificationStatus.FAILED, now, PageRequest.of(0, batchSize));
+
+        Instant leaseExpiresAt = now.plusSeconds(leaseDurationSeconds);
+        messages.forEach(message -> message.lease(nodeId, leaseExpiresAt));
+        return messages;
+    }
+
+    /**
+     * Processes a single claimed outbox message, attempting to send it and updating its status.
+     * This method is intended to be called by the scheduler's workers, possibly in parallel.
+     * No transaction is held while sending; the outcome (which also releases the lease) is saved atomically afterwards.
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW) // Critical: new transaction for each message
     public void processSingleOutboxMessage(NotificationOutbox outboxMessage) {
+        // A message whose lease ran out while queued may already be claimed elsewhere; leave it to that worker
+        if (outboxMessage.getLeaseExpiresAt() != null && outboxMessage.getLeaseExpiresAt().isBefore(Instant.now())) {
+            log.warn("Lease on outbox message ID: {} expired before dispatch. Skipping.", outboxMessage.getId());
+            return;
+        }
+
         log.info("Processing outbox message ID: {} (Type: {}, Recipient: {}, Attempt: {}/{})",
                 outboxMessage.getId(),
                 outboxMessage.getNotificationType(),
@@ -74,7 +113,10 @@ public class NotificationOutboxServiceImpl implements NotificationOutboxService{
         outboxMessage.setRetryAttempts(outboxMessage.getRetryAttempts() + 1); // Increment attempt count
 
         try {
-            emailServiceGateway.sendEmail(details);
+            // Write-ahead messages are stored unrendered; render a copy so the row keeps only the model
+            MessageDetails toSend = details.getBody() != null ? details : contentBuilder.render(
+                    new MessageDetails(details.getRecipient(), details.getMessageTemplate(), details.getTemplateModel()));
+            emailServiceGateway.sendEmail(toSend);
             // --- Mark as SENT on success ---
             outboxMessage.markAsSent();
             log.info("Outbox message ID: {} successfully sent on attempt {}/{}",
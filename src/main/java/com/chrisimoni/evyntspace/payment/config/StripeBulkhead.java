@@ -0,0 +1,68 @@
+package com.chrisimoni.evyntspace.payment.config;
+
+import com.chrisimoni.evyntspace.common.exception.ServiceBusyException;
+import com.stripe.exception.StripeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of Stripe API calls in flight. A slow or degraded Stripe otherwise holds one request
+ * thread (and its keep-alive connection) per call until the read timeout, so a checkout burst could tie up
+ * the whole Tomcat pool. Callers wait at most maxWaitMillis for a permit and then fail fast with
+ * ServiceBusyException (503). Publishes stripe.client.in_flight and stripe.client.rejected.
+ */
+public class StripeBulkhead {
+    private static final String BUSY_MESSAGE = "Payment provider is busy right now. Please try again shortly.";
+
+    private final Semaphore permits;
+    private final int maxConcurrentCalls;
+    private final long maxWaitMillis;
+    private final Counter rejected;
+
+    public StripeBulkhead(int maxConcurrentCalls, long maxWaitMillis, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitMillis = maxWaitMillis;
+
+        Gauge.builder("stripe.client.in_flight", this, StripeBulkhead::inFlight)
+                .description("Stripe API calls currently holding a permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("stripe.client.rejected")
+                .description("Stripe API calls rejected because every permit was taken")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(StripeCall<T> call) throws StripeException {
+        acquire();
+        try {
+            return call.execute();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int inFlight() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new ServiceBusyException(BUSY_MESSAGE);
+    }
+
+    @FunctionalInterface
+    public interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+}
@@ -0,0 +1,68 @@
+package com.chrisimoni.evyntspace.payment.config;
+
+import com.stripe.StripeClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * One shared StripeClient instead of the global Stripe.apiKey, with explicit timeouts (the SDK defaults are
+ * 30s connect / 80s read) and a base URL that can point at a local stand-in for offline load tests.
+ * The SDK sends requests over HttpURLConnection, whose JVM-wide keep-alive cache only keeps
+ * http.maxConnections idle sockets per host (5 by default); it is raised to the bulkhead size so every
+ * permitted call can reuse a warm TLS connection.
+ */
+@Configuration
+@Slf4j
+public class StripeConfig {
+    private static final String KEEP_ALIVE_POOL_PROPERTY = "http.maxConnections";
+
+    @Value("${stripe.api.secret-key}")
+    private String secretKey;
+
+    @Value("${stripe.api.base-url:https://api.stripe.com}")
+    private String apiBase;
+
+    @Value("${stripe.api.connect-timeout-ms:3000}")
+    private int connectTimeoutMillis;
+
+    @Value("${stripe.api.read-timeout-ms:15000}")
+    private int readTimeoutMillis;
+
+    @Value("${stripe.api.max-network-retries:2}") // Retried POSTs reuse the SDK's idempotency key
+    private int maxNetworkRetries;
+
+    @Value("${stripe.api.bulkhead.max-concurrent-calls:32}")
+    private int maxConcurrentCalls;
+
+    @Value("${stripe.api.bulkhead.max-wait-ms:100}")
+    private long bulkheadMaxWaitMillis;
+
+    @Bean
+    public StripeClient stripeClient() {
+        sizeKeepAlivePool();
+        return StripeClient.builder()
+                .setApiKey(secretKey)
+                .setApiBase(apiBase)
+                .setConnectTimeout(connectTimeoutMillis)
+                .setReadTimeout(readTimeoutMillis)
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build();
+    }
+
+    @Bean
+    public StripeBulkhead stripeBulkhead(MeterRegistry meterRegistry) {
+        return new StripeBulkhead(maxConcurrentCalls, bulkheadMaxWaitMillis, meterRegistry);
+    }
+
+    // Read once by the JDK when the first HttpURLConnection is kept alive; an explicit -D flag wins
+    private void sizeKeepAlivePool() {
+        if (System.getProperty(KEEP_ALIVE_POOL_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_POOL_PROPERTY, String.valueOf(maxConcurrentCalls));
+        }
+        log.info("Stripe client: base URL {}, {} keep-alive connections, {} concurrent calls.",
+                apiBase, System.getProperty(KEEP_ALIVE_POOL_PROPERTY), maxConcurrentCalls);
+    }
+}
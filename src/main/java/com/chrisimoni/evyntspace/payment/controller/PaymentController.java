@@ -1,18 +1,23 @@
 package com.chrisimoni.evyntspace.payment.controller;
 
 import com.chrisimoni.evyntspace.common.dto.ApiResponse;
+import com.chrisimoni.evyntspace.payment.dto.RefundBatchResponse;
 import com.chrisimoni.evyntspace.payment.dto.StripeOnboardingResponse;
 import com.chrisimoni.evyntspace.payment.service.PaymentService;
+import com.chrisimoni.evyntspace.payment.service.RefundBatchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/v1/payment")
 @RequiredArgsConstructor
 public class PaymentController {
     private final PaymentService paymentService;
+    private final RefundBatchService refundBatchService;
 
     @PostMapping("/stripe/webhook")
     public ResponseEntity<Void> handleStripeWebhook(@RequestBody String payload,
@@ -34,4 +39,17 @@ public class PaymentController {
         return ApiResponse.success("Stripe connect account created successfully.",
                 paymentService.createAndOnboardStripeAccount());
     }
+
+    // Refunds every confirmed attendee of a cancelled (deleted) event in the background
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @PostMapping("/events/{eventId}/refund-batches")
+    public ApiResponse<RefundBatchResponse> startRefundBatch(@PathVariable("eventId") UUID eventId) {
+        return ApiResponse.success("Refund batch started.", refundBatchService.startBatch(eventId));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/refund-batches/{id}")
+    public ApiResponse<RefundBatchResponse> getRefundBatch(@PathVariable("id") UUID id) {
+        return ApiResponse.success("Refund batch retrieved.", refundBatchService.getBatch(id));
+    }
 }
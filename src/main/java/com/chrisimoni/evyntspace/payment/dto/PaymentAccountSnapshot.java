@@ -0,0 +1,25 @@
+package com.chrisimoni.evyntspace.payment.dto;
+
+import com.chrisimoni.evyntspace.payment.model.PaymentAccount;
+
+import java.util.UUID;
+
+/**
+ * The fields of an organizer's payment account read on checkout, refunds and paid event creation; cached by user id.
+ */
+public record PaymentAccountSnapshot(
+        UUID userId,
+        String accountId,
+        boolean chargesEnabled,
+        boolean payoutsEnabled
+) {
+    public static PaymentAccountSnapshot from(PaymentAccount account) {
+        // getId() on the lazy user proxy does not load the user
+        return new PaymentAccountSnapshot(account.getUser().getId(), account.getAccountId(),
+                account.isChargesEnabled(), account.isPayoutsEnabled());
+    }
+
+    public boolean isFullyEnabled() {
+        return chargesEnabled && payoutsEnabled;
+    }
+}
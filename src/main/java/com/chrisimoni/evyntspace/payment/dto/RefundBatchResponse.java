@@ -0,0 +1,24 @@
+package com.chrisimoni.evyntspace.payment.dto;
+
+import com.chrisimoni.evyntspace.payment.enums.RefundBatchStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of a refund batch. refundsPerSecond is the items settled (succeeded or permanently failed)
+ * per second since the batch started, up to its completion.
+ */
+public record RefundBatchResponse(
+        UUID batchId,
+        UUID eventId,
+        RefundBatchStatus status,
+        int totalItems,
+        long succeededItems,
+        long failedItems,
+        long pendingItems,
+        Instant startedAt,
+        Instant completedAt,
+        double refundsPerSecond
+) {
+}
@@ -0,0 +1,6 @@
+package com.chrisimoni.evyntspace.payment.enums;
+
+public enum RefundBatchStatus {
+    IN_PROGRESS, // Items are being refunded
+    COMPLETED    // Every item succeeded or permanently failed
+}
@@ -0,0 +1,8 @@
+package com.chrisimoni.evyntspace.payment.enums;
+
+public enum RefundItemStatus {
+    PENDING,    // Waiting for a worker
+    SUCCEEDED,  // Refunded, enrollment and transaction marked REFUNDED
+    FAILED,     // Refund failed, retried after next_attempt_time
+    PERMANENT_FAILURE // Gave up after the maximum number of attempts
+}
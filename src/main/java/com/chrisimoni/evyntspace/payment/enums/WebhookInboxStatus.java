@@ -0,0 +1,8 @@
+package com.chrisimoni.evyntspace.payment.enums;
+
+public enum WebhookInboxStatus {
+    PENDING,    // Received and acknowledged, waiting for a worker
+    PROCESSED,  // Handled successfully
+    FAILED,     // Handling failed, retried after next_attempt_time
+    PERMANENT_FAILURE // Gave up after the maximum number of attempts
+}
@@ -0,0 +1,22 @@
+package com.chrisimoni.evyntspace.payment.listener;
+
+import com.chrisimoni.evyntspace.common.events.CancelledEventPaymentEvent;
+import com.chrisimoni.evyntspace.payment.service.RefundBatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CancelledEventPaymentEventListener {
+    private final RefundBatchService refundBatchService;
+
+    // Runs in the webhook inbox worker's transaction, so the refund item commits with the confirmation
+    @EventListener
+    public void handleCancelledEventPaymentEvent(CancelledEventPaymentEvent event) {
+        log.info("Payment received for enrollment {} of cancelled event {}.", event.getEnrollmentId(), event.getEventId());
+        refundBatchService.addLateEnrollment(event.getEventId(), event.getEnrollmentId());
+    }
+}
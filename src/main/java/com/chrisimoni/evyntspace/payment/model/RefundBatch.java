@@ -0,0 +1,58 @@
+package com.chrisimoni.evyntspace.payment.model;
+
+import com.chrisimoni.evyntspace.common.model.BaseEntity;
+import com.chrisimoni.evyntspace.payment.enums.RefundBatchStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A bulk refund of every confirmed enrollment of an event. The items live in refund_batch_items;
+ * the counters here are only filled in once the batch completes.
+ */
+@Entity
+@Table(name = "refund_batches")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefundBatch extends BaseEntity {
+    private UUID eventId;
+    private String eventTitle;
+    private String accountId;
+
+    @Enumerated(EnumType.STRING)
+    private RefundBatchStatus status;
+
+    private int totalItems;
+    private int succeededItems;
+    private int failedItems;
+    private Instant startedAt;
+    private Instant completedAt;
+
+    public RefundBatch(UUID eventId, String eventTitle, String accountId) {
+        this.eventId = eventId;
+        this.eventTitle = eventTitle;
+        this.accountId = accountId;
+        this.status = RefundBatchStatus.IN_PROGRESS;
+        this.startedAt = Instant.now();
+    }
+
+    public void complete(int succeededItems, int failedItems) {
+        this.status = RefundBatchStatus.COMPLETED;
+        this.succeededItems = succeededItems;
+        this.failedItems = failedItems;
+        this.completedAt = Instant.now();
+    }
+
+    // A late item was added to a completed batch; the counters are filled in again when it completes
+    public void reopen() {
+        this.status = RefundBatchStatus.IN_PROGRESS;
+        this.succeededItems = 0;
+        this.failedItems = 0;
+        this.completedAt = null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.chrisimoni.evyntspace.payment.model;
+
+import com.chrisimoni.evyntspace.common.model.BaseEntity;
+import com.chrisimoni.evyntspace.payment.enums.RefundItemStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One refund of a RefundBatch. Rows are created by RefundBatchItemRepository.insertConfirmedEnrollments
+ * with everything the refund and its email need, so workers never load the enrollment or the event.
+ */
+@Entity
+@Table(name = "refund_batch_items")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefundBatchItem extends BaseEntity {
+    private UUID batchId;
+    private UUID enrollmentId;
+    private UUID transactionId;
+    private String paymentIntentId;
+    private String email;
+    private String firstName;
+
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    private RefundItemStatus status;
+
+    private int attempts;
+    private Instant nextAttemptTime;
+    private String lastError;
+    private String refundId;
+    // Set while a worker owns the item; other claimers skip it until the lease expires
+    private Instant leaseExpiresAt;
+    private String leasedBy;
+
+    // Stripe replays the original refund for a repeated key, so a retry after a crash cannot refund twice
+    public String idempotencyKey() {
+        return "refund-batch-item-" + getId();
+    }
+
+    public void lease(String owner, Instant leaseExpiresAt) {
+        this.leasedBy = owner;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public void markAsSucceeded(String refundId) {
+        this.status = RefundItemStatus.SUCCEEDED;
+        this.refundId = refundId;
+        releaseLease();
+        this.nextAttemptTime = null;
+        this.lastError = null;
+    }
+
+    public void markAsFailed(String error, Instant nextAttemptTime) {
+        this.status = RefundItemStatus.FAILED;
+        releaseLease();
+        this.lastError = truncate(error);
+        this.nextAttemptTime = nextAttemptTime;
+    }
+
+    public void markPermanentFailure(String error) {
+        this.status = RefundItemStatus.PERMANENT_FAILURE;
+        releaseLease();
+        this.lastError = truncate(error);
+        this.nextAttemptTime = null;
+    }
+
+    private void releaseLease() {
+        this.leasedBy = null;
+        this.leaseExpiresAt = null;
+    }
+
+    private String truncate(String error) {
+        return Objects.nonNull(error)
+                ? error.substring(0, Math.min(error.length(), 255))
+                : "Unknown error while refunding " + paymentIntentId;
+    }
+}
@@ -0,0 +1,76 @@
+package com.chrisimoni.evyntspace.payment.model;
+
+import com.chrisimoni.evyntspace.common.model.BaseEntity;
+import com.chrisimoni.evyntspace.payment.enums.WebhookInboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A verified Stripe webhook event awaiting (or done with) processing. Rows are inserted by
+ * StripeWebhookInboxRepository.insertIfAbsent and only read back here by the inbox workers.
+ */
+@Entity
+@Table(name = "stripe_webhook_inbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StripeWebhookInbox extends BaseEntity {
+    private String eventId;
+    private String eventType;
+    private String orderingKey;
+    private Instant eventCreatedAt;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    private WebhookInboxStatus status;
+
+    private int attempts;
+    private Instant nextAttemptTime;
+    private String lastError;
+    // Set while a worker owns the event; other claimers skip it until the lease expires
+    private Instant leaseExpiresAt;
+    private String leasedBy;
+
+    public void lease(String owner, Instant leaseExpiresAt) {
+        this.leasedBy = owner;
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public void markAsProcessed() {
+        this.status = WebhookInboxStatus.PROCESSED;
+        releaseLease();
+        this.nextAttemptTime = null;
+    }
+
+    public void markAsFailed(String error, Instant nextAttemptTime) {
+        this.status = WebhookInboxStatus.FAILED;
+        releaseLease();
+        this.lastError = truncate(error);
+        this.nextAttemptTime = nextAttemptTime;
+    }
+
+    public void markPermanentFailure(String error) {
+        this.status = WebhookInboxStatus.PERMANENT_FAILURE;
+        releaseLease();
+        this.lastError = truncate(error);
+        this.nextAttemptTime = null;
+    }
+
+    private void releaseLease() {
+        this.leasedBy = null;
+        this.leaseExpiresAt = null;
+    }
+
+    private String truncate(String error) {
+        return Objects.nonNull(error)
+                ? error.substring(0, Math.min(error.length(), 255))
+                : "Unknown error while processing " + eventType;
+    }
+}
@@ -0,0 +1,77 @@
+package com.chrisimoni.evyntspace.payment.repository;
+
+import com.chrisimoni.evyntspace.payment.enums.RefundItemStatus;
+import com.chrisimoni.evyntspace.payment.model.RefundBatchItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RefundBatchItemRepository extends JpaRepository<RefundBatchItem, UUID> {
+    /**
+     * Creates one PENDING item per confirmed, paid enrollment of the event in a single statement, copying the
+     * payment intent, amount and recipient so no enrollment or transaction is loaded into memory.
+     * Returns the number of items created.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO refund_batch_items (batch_id, enrollment_id, transaction_id, payment_intent_id, email, first_name,
+                                        amount, status, attempts, next_attempt_time, created_at, updated_at)
+        SELECT :batchId, e.id, t.id, t.payment_reference_id, e.email, e.first_name,
+               t.amount, 'PENDING', 0, NOW(), NOW(), NOW()
+        FROM enrollments e
+        JOIN transactions t ON t.id = e.transaction_id
+        WHERE e.event_id = :eventId
+          AND e.payment_status = 'CONFIRMED'
+          AND t.status = 'SUCCEEDED'
+        ON CONFLICT (batch_id, enrollment_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertConfirmedEnrollments(@Param("batchId") UUID batchId, @Param("eventId") UUID eventId);
+
+    // Same as insertConfirmedEnrollments, for one enrollment confirmed after its batch started
+    @Modifying
+    @Query(value = """
+        INSERT INTO refund_batch_items (batch_id, enrollment_id, transaction_id, payment_intent_id, email, first_name,
+                                        amount, status, attempts, next_attempt_time, created_at, updated_at)
+        SELECT :batchId, e.id, t.id, t.payment_reference_id, e.email, e.first_name,
+               t.amount, 'PENDING', 0, NOW(), NOW(), NOW()
+        FROM enrollments e
+        JOIN transactions t ON t.id = e.transaction_id
+        WHERE e.id = :enrollmentId
+          AND e.payment_status = 'CONFIRMED'
+          AND t.status = 'SUCCEEDED'
+        ON CONFLICT (batch_id, enrollment_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertConfirmedEnrollment(@Param("batchId") UUID batchId, @Param("enrollmentId") UUID enrollmentId);
+
+    /**
+     * Claims due items (PENDING, FAILED awaiting retry, or leased by a worker that died) across all batches.
+     * Rows are locked FOR UPDATE SKIP LOCKED, so concurrent claimers get disjoint batches.
+     */
+    @Query(value = """
+        SELECT i.* FROM refund_batch_items i
+        WHERE i.status IN ('PENDING', 'FAILED')
+          AND i.next_attempt_time <= :now
+          AND (i.lease_expires_at IS NULL OR i.lease_expires_at < :now)
+        ORDER BY i.next_attempt_time
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<RefundBatchItem> findAndLockItemsToClaim(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    @Query("""
+        SELECT i.status AS status, COUNT(i) AS count FROM RefundBatchItem i
+        WHERE i.batchId = :batchId
+        GROUP BY i.status
+    """)
+    List<RefundItemStatusCount> countByStatus(@Param("batchId") UUID batchId);
+
+    // A refund issued (or still being issued) by a batch; its charge.refunded webhook has nothing left to do
+    boolean existsByPaymentIntentIdAndStatusNot(String paymentIntentId, RefundItemStatus status);
+}
@@ -0,0 +1,24 @@
+package com.chrisimoni.evyntspace.payment.repository;
+
+import com.chrisimoni.evyntspace.payment.enums.RefundBatchStatus;
+import com.chrisimoni.evyntspace.payment.model.RefundBatch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefundBatchRepository extends JpaRepository<RefundBatch, UUID> {
+    Optional<RefundBatch> findByEventIdAndStatus(UUID eventId, RefundBatchStatus status);
+
+    // Locked so completing a batch and adding a late item to it are serialized
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<RefundBatch> findByStatus(RefundBatchStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefundBatch> findFirstByEventIdOrderByStartedAtDesc(UUID eventId);
+}
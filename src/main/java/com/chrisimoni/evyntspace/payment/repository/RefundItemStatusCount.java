@@ -0,0 +1,9 @@
+package com.chrisimoni.evyntspace.payment.repository;
+
+import com.chrisimoni.evyntspace.payment.enums.RefundItemStatus;
+
+// Progress of a refund batch, one row per item status
+public interface RefundItemStatusCount {
+    RefundItemStatus getStatus();
+    long getCount();
+}
@@ -0,0 +1,68 @@
+package com.chrisimoni.evyntspace.payment.repository;
+
+import com.chrisimoni.evyntspace.payment.enums.WebhookInboxStatus;
+import com.chrisimoni.evyntspace.payment.model.StripeWebhookInbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StripeWebhookInboxRepository extends JpaRepository<StripeWebhookInbox, UUID> {
+    /**
+     * Stores a verified event as PENDING. A redelivered event id hits the unique constraint and is ignored.
+     * Returns 1 when the event was stored, 0 for a duplicate.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO stripe_webhook_inbox (event_id, event_type, ordering_key, event_created_at, payload, status,
+                                          attempts, next_attempt_time, created_at, updated_at)
+        VALUES (:eventId, :eventType, :orderingKey, :eventCreatedAt, :payload, 'PENDING', 0, NOW(), NOW(), NOW())
+        ON CONFLICT (event_id) DO NOTHING
+        """, nativeQuery = true)
+    int insertIfAbsent(
+            @Param("eventId") String eventId,
+            @Param("eventType") String eventType,
+            @Param("orderingKey") String orderingKey,
+            @Param("eventCreatedAt") Instant eventCreatedAt,
+            @Param("payload") String payload);
+
+    /**
+     * Claims due events that are at the head of their ordering key: no earlier unprocessed event
+     * (PENDING, including leased, or FAILED awaiting retry) exists for the same key. So at most one event per
+     * reservation is in flight, and events for a reservation are handled in Stripe's creation order.
+     * Rows are locked FOR UPDATE SKIP LOCKED, so concurrent claimers get disjoint batches.
+     */
+    @Query(value = """
+        SELECT i.* FROM stripe_webhook_inbox i
+        WHERE i.status IN ('PENDING', 'FAILED')
+          AND i.next_attempt_time <= :now
+          AND (i.lease_expires_at IS NULL OR i.lease_expires_at < :now)
+          AND NOT EXISTS (
+              SELECT 1 FROM stripe_webhook_inbox earlier
+              WHERE earlier.ordering_key = i.ordering_key
+                AND earlier.status IN ('PENDING', 'FAILED')
+                AND (earlier.event_created_at, earlier.id) < (i.event_created_at, i.id)
+          )
+        ORDER BY i.next_attempt_time, i.event_created_at
+        LIMIT :batchSize
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<StripeWebhookInbox> findAndLockEventsToClaim(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("""
+        DELETE FROM StripeWebhookInbox i
+        WHERE (i.status = :processedStatus OR i.status = :permanentFailureStatus)
+        AND i.updatedAt < :cutoffDate
+    """)
+    int deleteOldProcessedRecords(
+            @Param("processedStatus") WebhookInboxStatus processedStatus,
+            @Param("permanentFailureStatus") WebhookInboxStatus permanentFailureStatus,
+            @Param("cutoffDate") Instant cutoffDate);
+}
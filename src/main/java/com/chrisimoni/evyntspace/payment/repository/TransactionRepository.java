@@ -1,7 +1,11 @@
 package com.chrisimoni.evyntspace.payment.repository;
 
 import com.chrisimoni.evyntspace.payment.model.Transaction;
+import com.chrisimoni.evyntspace.payment.enums.TransactionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +14,8 @@ import java.util.UUID;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
     Optional<Transaction> findByPaymentReferenceId(String paymentReferenceId);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = :status, t.updatedAt = CURRENT_TIMESTAMP WHERE t.id = :id")
+    int updateStatus(@Param("id") UUID id, @Param("status") TransactionStatus status);
 }
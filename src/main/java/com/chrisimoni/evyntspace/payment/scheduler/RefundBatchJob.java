@@ -0,0 +1,70 @@
+package com.chrisimoni.evyntspace.payment.scheduler;
+
+import com.chrisimoni.evyntspace.common.config.AsyncConfig;
+import com.chrisimoni.evyntspace.payment.model.RefundBatch;
+import com.chrisimoni.evyntspace.payment.model.RefundBatchItem;
+import com.chrisimoni.evyntspace.payment.service.RefundBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Drains refund batch items. Claimed items are refunded in parallel on the refund executor, whose
+ * concurrency limit (together with the refund rate limit) bounds the load a cancelled event puts on Stripe.
+ */
+@Component
+@Slf4j
+public class RefundBatchJob {
+    private final RefundBatchService refundBatchService;
+    private final AsyncTaskExecutor refundExecutor;
+
+    @Value("${stripe.refund-batch.batch-size:50}")
+    private int batchSize;
+
+    public RefundBatchJob(
+            RefundBatchService refundBatchService,
+            @Qualifier(AsyncConfig.REFUND_EXECUTOR) AsyncTaskExecutor refundExecutor) {
+        this.refundBatchService = refundBatchService;
+        this.refundExecutor = refundExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${stripe.refund-batch.dispatch-interval-ms:1000}")
+    protected void drainRefunds() {
+        List<RefundBatchItem> items = refundBatchService.claimItemsToProcess(batchSize);
+        if (!items.isEmpty()) {
+            processItems(items);
+        }
+        // Also runs on empty claims, so a batch whose last item settled just before a restart is still closed
+        refundBatchService.completeFinishedBatches();
+    }
+
+    private void processItems(List<RefundBatchItem> items) {
+        log.info("Claimed {} refund items to process.", items.size());
+        Map<UUID, RefundBatch> batches = refundBatchService.getBatchesById(
+                items.stream().map(RefundBatchItem::getBatchId).collect(Collectors.toSet()));
+        CompletableFuture<?>[] dispatches = items.stream()
+                .map(item -> CompletableFuture.runAsync(
+                        () -> processItem(item, batches.get(item.getBatchId())), refundExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(dispatches).join();
+    }
+
+    private void processItem(RefundBatchItem item, RefundBatch batch) {
+        try {
+            refundBatchService.processSingleItem(item, batch);
+        } catch (Exception e) {
+            // Log and continue; the lease expires and the item is claimed again later.
+            log.error("An unexpected error occurred while processing refund item {}: {}",
+                    item.getId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.chrisimoni.evyntspace.payment.scheduler;
+
+import com.chrisimoni.evyntspace.common.config.AsyncConfig;
+import com.chrisimoni.evyntspace.payment.model.StripeWebhookInbox;
+import com.chrisimoni.evyntspace.payment.service.StripeWebhookInboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Drains the Stripe webhook inbox. Each claimed batch holds at most one event per reservation,
+ * so events are processed in parallel across reservations and in order within one.
+ */
+@Component
+@Slf4j
+public class StripeWebhookInboxJob {
+    private final StripeWebhookInboxService inboxService;
+    private final AsyncTaskExecutor webhookExecutor;
+
+    @Value("${stripe.webhook.inbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${stripe.webhook.inbox.cleanup-retention-days:14}")
+    private int retentionDays;
+
+    public StripeWebhookInboxJob(
+            StripeWebhookInboxService inboxService,
+            @Qualifier(AsyncConfig.WEBHOOK_EXECUTOR) AsyncTaskExecutor webhookExecutor) {
+        this.inboxService = inboxService;
+        this.webhookExecutor = webhookExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${stripe.webhook.inbox.dispatch-interval-ms:500}")
+    protected void drainInbox() {
+        List<StripeWebhookInbox> events = inboxService.claimEventsToProcess(batchSize);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        log.info("Claimed {} Stripe webhook events to process.", events.size());
+        // Wait for the batch, so the next claim sees its outcome and can release the following events in order
+        CompletableFuture<?>[] dispatches = events.stream()
+                .map(event -> CompletableFuture.runAsync(() -> processEvent(event), webhookExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(dispatches).join();
+    }
+
+    private void processEvent(StripeWebhookInbox event) {
+        try {
+            inboxService.processSingleEvent(event);
+        } catch (Exception e) {
+            // Log and continue; the lease expires and the event is claimed again later.
+            log.error("An unexpected error occurred while processing Stripe event {}: {}",
+                    event.getEventId(), e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${stripe.webhook.inbox.cleanup-cron-expression:0 30 2 * * *}")
+    protected void cleanupOldInboxRecords() {
+        log.info("StripeWebhookInboxCleanupJob starting at {}. Will delete records older than {} days.",
+                Instant.now(), retentionDays);
+
+        try {
+            inboxService.deleteOldProcessedRecords(retentionDays);
+        } catch (Exception e) {
+            log.error("Error during StripeWebhookInboxCleanupJob execution: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.chrisimoni.evyntspace.payment.service;
 
-import com.chrisimoni.evyntspace.payment.enums.PaymentPlatform;
+import com.chrisimoni.evyntspace.payment.dto.PaymentAccountSnapshot;
 import com.chrisimoni.evyntspace.payment.model.PaymentAccount;
 
 import java.util.Optional;
@@ -8,6 +8,7 @@ import java.util.UUID;
 
 public interface PaymentAccountService {
     Optional<PaymentAccount> findByUserId(UUID userId);
+    Optional<PaymentAccountSnapshot> findSnapshotByUserId(UUID userId);
     PaymentAccount save(PaymentAccount paymentAccount);
     PaymentAccount findByAccountId(String accountId);
 }
@@ -14,7 +14,9 @@ public interface PaymentService {
             BigDecimal amount,
             String eventImageUrl);
     void handleStripeWebhook(String payload, String sigHeader);
+    void processWebhookEvent(String payload);
     void initiateRefund(UUID userId, UUID transactionId);
+    String refundPayment(String paymentIntentId, String connectedAccountId, String idempotencyKey);
     StripeOnboardingResponse createAndOnboardStripeAccount();
     void handleStripeConnectAccountWebhook(String payload, String sigHeader);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.chrisimoni.evyntspace.payment.service;
+
+import com.chrisimoni.evyntspace.payment.dto.RefundBatchResponse;
+import com.chrisimoni.evyntspace.payment.model.RefundBatch;
+import com.chrisimoni.evyntspace.payment.model.RefundBatchItem;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface RefundBatchService {
+    RefundBatchResponse startBatch(UUID eventId);
+    RefundBatchResponse getBatch(UUID batchId);
+    Map<UUID, RefundBatch> getBatchesById(Collection<UUID> batchIds);
+    List<RefundBatchItem> claimItemsToProcess(int batchSize);
+    void processSingleItem(RefundBatchItem item, RefundBatch batch);
+    void completeFinishedBatches();
+    void addLateEnrollment(UUID eventId, UUID enrollmentId);
+}
@@ -0,0 +1,11 @@
+package com.chrisimoni.evyntspace.payment.service;
+
+import com.chrisimoni.evyntspace.payment.model.StripeWebhookInbox;
+
+import java.util.List;
+
+public interface StripeWebhookInboxService {
+    List<StripeWebhookInbox> claimEventsToProcess(int batchSize);
+    void processSingleEvent(StripeWebhookInbox inboxEvent);
+    int deleteOldProcessedRecords(int retentionDays);
+}
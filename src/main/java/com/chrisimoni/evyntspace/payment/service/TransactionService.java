@@ -10,4 +10,5 @@ import java.util.UUID;
 public interface TransactionService {
     Transaction createTransaction(String paymentIntentId, BigDecimal amount, String currency, TransactionStatus status, String accountId);
     Optional<Transaction> getTransactionById(UUID transactionId);
+    void updateStatus(UUID transactionId, TransactionStatus status);
 }
\ No newline at end of file
@@ -1,32 +1,60 @@
 package com.chrisimoni.evyntspace.payment.service.impl;
 
-import com.chrisimoni.evyntspace.payment.enums.PaymentPlatform;
+import com.chrisimoni.evyntspace.payment.dto.PaymentAccountSnapshot;
 import com.chrisimoni.evyntspace.payment.model.PaymentAccount;
 import com.chrisimoni.evyntspace.payment.repository.PaymentAccountRepository;
 import com.chrisimoni.evyntspace.payment.service.PaymentAccountService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.chrisimoni.evyntspace.common.config.CacheConfig.PAYMENT_ACCOUNTS_BY_USER_CACHE;
+
 @Service
-@RequiredArgsConstructor
 public class PaymentAccountServiceImpl implements PaymentAccountService {
     private final PaymentAccountRepository paymentAccountRepository;
+    private final Cache accountsByUser;
+
+    public PaymentAccountServiceImpl(PaymentAccountRepository paymentAccountRepository, CacheManager cacheManager) {
+        this.paymentAccountRepository = paymentAccountRepository;
+        this.accountsByUser = cacheManager.getCache(PAYMENT_ACCOUNTS_BY_USER_CACHE);
+    }
 
     @Override
     public Optional<PaymentAccount> findByUserId(UUID userId) {
         return paymentAccountRepository.findByUserId(userId);
     }
 
+    // Users without an account are not cached; they only reach this on error paths or right before onboarding
+    @Override
+    public Optional<PaymentAccountSnapshot> findSnapshotByUserId(UUID userId) {
+        PaymentAccountSnapshot cached = accountsByUser.get(userId, PaymentAccountSnapshot.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return paymentAccountRepository.findByUserId(userId).map(this::cacheSnapshot);
+    }
+
+    // The only write path (onboarding and the account.updated webhook); evictions are deferred to commit
     @Override
     public PaymentAccount save(PaymentAccount paymentAccount) {
-        return paymentAccountRepository.save(paymentAccount);
+        PaymentAccount saved = paymentAccountRepository.save(paymentAccount);
+        accountsByUser.evict(saved.getUser().getId());
+        return saved;
     }
 
     @Override
     public PaymentAccount findByAccountId(String accountId) {
         return paymentAccountRepository.findByAccountId(accountId);
     }
+
+    private PaymentAccountSnapshot cacheSnapshot(PaymentAccount account) {
+        PaymentAccountSnapshot snapshot = PaymentAccountSnapshot.from(account);
+        accountsByUser.put(snapshot.userId(), snapshot);
+        return snapshot;
+    }
 }
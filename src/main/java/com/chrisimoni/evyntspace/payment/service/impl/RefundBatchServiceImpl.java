@@ -0,0 +1,335 @@
+package com.chrisimoni.evyntspace.payment.service.impl;
+
+import com.chrisimoni.evyntspace.common.config.AuthenticationContext;
+import com.chrisimoni.evyntspace.common.events.PaymentRefundNotificationEvent;
+import com.chrisimoni.evyntspace.common.exception.BadRequestException;
+import com.chrisimoni.evyntspace.common.exception.DuplicateResourceException;
+import com.chrisimoni.evyntspace.common.exception.ResourceNotFoundException;
+import com.chrisimoni.evyntspace.common.ratelimit.TokenBucket;
+import com.chrisimoni.evyntspace.common.util.ConstraintUtil;
+import com.chrisimoni.evyntspace.event.model.Event;
+import com.chrisimoni.evyntspace.event.service.EnrollmentService;
+import com.chrisimoni.evyntspace.event.service.EventService;
+import com.chrisimoni.evyntspace.payment.dto.PaymentAccountSnapshot;
+import com.chrisimoni.evyntspace.payment.dto.RefundBatchResponse;
+import com.chrisimoni.evyntspace.payment.enums.RefundBatchStatus;
+import com.chrisimoni.evyntspace.payment.enums.RefundItemStatus;
+import com.chrisimoni.evyntspace.payment.enums.TransactionStatus;
+import com.chrisimoni.evyntspace.payment.model.RefundBatch;
+import com.chrisimoni.evyntspace.payment.model.RefundBatchItem;
+import com.chrisimoni.evyntspace.payment.repository.RefundBatchItemRepository;
+import com.chrisimoni.evyntspace.payment.repository.RefundBatchRepository;
+import com.chrisimoni.evyntspace.payment.repository.RefundItemStatusCount;
+import com.chrisimoni.evyntspace.payment.service.PaymentAccountService;
+import com.chrisimoni.evyntspace.payment.service.PaymentService;
+import com.chrisimoni.evyntspace.payment.service.RefundBatchService;
+import com.chrisimoni.evyntspace.payment.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Refunds every confirmed enrollment of a cancelled event. Starting a batch writes one item per enrollment
+ * in a single INSERT ... SELECT; RefundBatchJob then leases due items and refunds them in parallel on the
+ * refund executor, paced by a per-instance token bucket. Each item carries its own idempotency key and
+ * status, so a crash mid-batch resumes with the unfinished items without refunding anyone twice.
+ */
+@Service
+@Slf4j
+public class RefundBatchServiceImpl implements RefundBatchService {
+    private static final String IN_PROGRESS_CONSTRAINT = "uq_refund_batches_event_in_progress";
+
+    private final RefundBatchRepository batchRepository;
+    private final RefundBatchItemRepository itemRepository;
+    private final EventService eventService;
+    private final EnrollmentService enrollmentService;
+    private final PaymentAccountService paymentAccountService;
+    private final PaymentService paymentService;
+    private final TransactionService transactionService;
+    private final AuthenticationContext authenticationContext;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TokenBucket refundRateLimit;
+
+    @Value("${stripe.refund-batch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${stripe.refund-batch.initial-retry-interval-seconds:30}")
+    private long initialRetryIntervalSeconds;
+
+    @Value("${stripe.refund-batch.retry-interval-factor:2}")
+    private int retryIntervalFactor;
+
+    // Must exceed the worst-case duration of a single refund call, including the rate limit wait
+    @Value("${stripe.refund-batch.lease-duration-seconds:120}")
+    private long leaseDurationSeconds;
+
+    // Identifies this instance as lease owner, for troubleshooting
+    @Value("${stripe.refund-batch.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+
+    public RefundBatchServiceImpl(
+            RefundBatchRepository batchRepository,
+            RefundBatchItemRepository itemRepository,
+            EventService eventService,
+            EnrollmentService enrollmentService,
+            PaymentAccountService paymentAccountService,
+            PaymentService paymentService,
+            TransactionService transactionService,
+            AuthenticationContext authenticationContext,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${stripe.refund-batch.max-refunds-per-second:20}") int maxRefundsPerSecond) {
+        this.batchRepository = batchRepository;
+        this.itemRepository = itemRepository;
+        this.eventService = eventService;
+        this.enrollmentService = enrollmentService;
+        this.paymentAccountService = paymentAccountService;
+        this.paymentService = paymentService;
+        this.transactionService = transactionService;
+        this.authenticationContext = authenticationContext;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.refundRateLimit = new TokenBucket(maxRefundsPerSecond, TimeUnit.SECONDS.toNanos(1), System.nanoTime());
+    }
+
+    @Override
+    @Transactional
+    public RefundBatchResponse startBatch(UUID eventId) {
+        Event event = eventService.findById(eventId);
+        UUID organizerId = event.getOrganizer().getId();
+        authenticationContext.validateUserAccess(organizerId);
+
+        if (!event.isPaid()) {
+            throw new BadRequestException("Only paid events can be refunded.");
+        }
+        // A deleted event takes no new reservations, so the batch sees every enrollment it has to refund
+        if (event.isActive()) {
+            throw new BadRequestException("Cancel the event before refunding its attendees.");
+        }
+
+        // Starting again while a batch is running reports on that batch
+        Optional<RefundBatch> running = batchRepository.findByEventIdAndStatus(eventId, RefundBatchStatus.IN_PROGRESS);
+        if (running.isPresent()) {
+            return toResponse(running.get());
+        }
+
+        String accountId = paymentAccountService.findSnapshotByUserId(organizerId)
+                .map(PaymentAccountSnapshot::accountId)
+                .orElseThrow(() -> new BadRequestException("The organizer has no payment account to refund from."));
+
+        RefundBatch batch = saveNewBatch(new RefundBatch(eventId, event.getTitle(), accountId));
+        int totalItems = itemRepository.insertConfirmedEnrollments(batch.getId(), eventId);
+        batch.setTotalItems(totalItems);
+        if (totalItems == 0) {
+            batch.complete(0, 0);
+        }
+
+        log.info("Started refund batch {} for event {} with {} refunds.", batch.getId(), eventId, totalItems);
+        return toResponse(batch);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RefundBatchResponse getBatch(UUID batchId) {
+        RefundBatch batch = batchRepository.findById(batchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Refund batch", "id", batchId));
+        authenticationContext.validateUserAccess(eventService.findById(batch.getEventId()).getOrganizer().getId());
+        return toResponse(batch);
+    }
+
+    @Override
+    public Map<UUID, RefundBatch> getBatchesById(Collection<UUID> batchIds) {
+        return batchRepository.findAllById(batchIds).stream()
+                .collect(Collectors.toMap(RefundBatch::getId, Function.identity()));
+    }
+
+    /**
+     * Leases a batch of due items to this instance in a short transaction.
+     */
+    @Override
+    @Transactional
+    public List<RefundBatchItem> claimItemsToProcess(int batchSize) {
+        Instant now = Instant.now();
+        List<RefundBatchItem> items = itemRepository.findAndLockItemsToClaim(now, batchSize);
+
+        Instant leaseExpiresAt = now.plusSeconds(leaseDurationSeconds);
+        items.forEach(item -> item.lease(nodeId, leaseExpiresAt));
+        return items;
+    }
+
+    /**
+     * Issues the refund outside any transaction, then marks the item, transaction and enrollment REFUNDED
+     * and queues the refund email in one transaction. If that transaction fails the retry repeats the
+     * idempotency key, so Stripe returns the existing refund instead of creating another.
+     */
+    @Override
+    public void processSingleItem(RefundBatchItem item, RefundBatch batch) {
+        // An item whose lease ran out while queued may already be claimed elsewhere; leave it to that worker
+        if (item.getLeaseExpiresAt() != null && item.getLeaseExpiresAt().isBefore(Instant.now())) {
+            log.warn("Lease on refund item {} expired before processing. Skipping.", item.getId());
+            return;
+        }
+
+        item.setAttempts(item.getAttempts() + 1);
+        try {
+            awaitRateLimit();
+            String refundId = paymentService.refundPayment(
+                    item.getPaymentIntentId(), batch.getAccountId(), item.idempotencyKey());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                item.markAsSucceeded(refundId);
+                itemRepository.save(item);
+                transactionService.updateStatus(item.getTransactionId(), TransactionStatus.REFUNDED);
+                enrollmentService.markAsRefunded(item.getEnrollmentId());
+                // Written to the notification outbox in this transaction
+                eventPublisher.publishEvent(new PaymentRefundNotificationEvent(
+                        this, item.getEmail(), item.getFirstName(), batch.getEventTitle(), item.getAmount()));
+            });
+            meterRegistry.counter("refund.batch.items", "outcome", "succeeded").increment();
+        } catch (Exception e) {
+            String error = Objects.nonNull(e.getCause()) ? e.getCause().getMessage() : e.getMessage();
+            log.warn("Refund item {} of batch {} failed on attempt {}/{}. Error: {}",
+                    item.getId(), batch.getId(), item.getAttempts(), maxAttempts, error);
+            handleFailure(item, error);
+            itemRepository.save(item);
+        }
+    }
+
+    // Batches with no PENDING or FAILED items left are closed with their final counts
+    @Override
+    @Transactional
+    public void completeFinishedBatches() {
+        for (RefundBatch batch : batchRepository.findByStatus(RefundBatchStatus.IN_PROGRESS)) {
+            Map<RefundItemStatus, Long> counts = countByStatus(batch.getId());
+            if (counts.getOrDefault(RefundItemStatus.PENDING, 0L) + counts.getOrDefault(RefundItemStatus.FAILED, 0L) > 0) {
+                continue;
+            }
+
+            long succeeded = counts.getOrDefault(RefundItemStatus.SUCCEEDED, 0L);
+            long failed = counts.getOrDefault(RefundItemStatus.PERMANENT_FAILURE, 0L);
+            batch.complete((int) succeeded, (int) failed);
+            batchRepository.save(batch);
+            log.info("Refund batch {} for event {} completed: {} refunded, {} failed in {}s ({} refunds/s).",
+                    batch.getId(), batch.getEventId(), succeeded, failed,
+                    Duration.between(batch.getStartedAt(), batch.getCompletedAt()).toSeconds(),
+                    String.format("%.1f", refundsPerSecond(batch, succeeded + failed)));
+        }
+    }
+
+    /**
+     * Adds an enrollment that was paid after its event was cancelled (its checkout session was still open)
+     * to the event's latest batch, reopening the batch if it already completed. Without a batch there is
+     * nothing to do: the enrollment is CONFIRMED, so the batch started later picks it up.
+     */
+    @Override
+    @Transactional
+    public void addLateEnrollment(UUID eventId, UUID enrollmentId) {
+        Optional<RefundBatch> latest = batchRepository.findFirstByEventIdOrderByStartedAtDesc(eventId);
+        if (latest.isEmpty()) {
+            log.info("No refund batch yet for event {}; enrollment {} will be refunded by it.", eventId, enrollmentId);
+            return;
+        }
+
+        RefundBatch batch = latest.get();
+        if (itemRepository.insertConfirmedEnrollment(batch.getId(), enrollmentId) == 0) {
+            log.warn("Enrollment {} was not added to refund batch {}: not confirmed or already included.",
+                    enrollmentId, batch.getId());
+            return;
+        }
+
+        batch.setTotalItems(batch.getTotalItems() + 1);
+        if (batch.getStatus() == RefundBatchStatus.COMPLETED) {
+            batch.reopen();
+        }
+        batchRepository.save(batch);
+        log.info("Added late enrollment {} to refund batch {} of event {}.", enrollmentId, batch.getId(), eventId);
+    }
+
+    private RefundBatch saveNewBatch(RefundBatch batch) {
+        try {
+            return batchRepository.saveAndFlush(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintUtil.isViolationOf(e, IN_PROGRESS_CONSTRAINT)) {
+                throw new DuplicateResourceException("A refund is already running for this event.");
+            }
+            throw e;
+        }
+    }
+
+    // Blocks the worker until the token bucket lets the next Stripe call through
+    private void awaitRateLimit() {
+        long waitNanos;
+        while ((waitNanos = refundRateLimit.tryConsume(System.nanoTime())) > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+
+    private void handleFailure(RefundBatchItem item, String error) {
+        if (item.getAttempts() >= maxAttempts) {
+            item.markPermanentFailure(error);
+            meterRegistry.counter("refund.batch.items", "outcome", "failed").increment();
+            log.error("Refund item {} (payment intent {}) permanently failed after {} attempts.",
+                    item.getId(), item.getPaymentIntentId(), item.getAttempts());
+            return;
+        }
+
+        long delaySeconds = (long) (initialRetryIntervalSeconds * Math.pow(
+                retryIntervalFactor, item.getAttempts() - 1));
+        item.markAsFailed(error, Instant.now().plusSeconds(delaySeconds));
+    }
+
+    private RefundBatchResponse toResponse(RefundBatch batch) {
+        long succeeded = batch.getSucceededItems();
+        long failed = batch.getFailedItems();
+        if (batch.getStatus() == RefundBatchStatus.IN_PROGRESS) {
+            Map<RefundItemStatus, Long> counts = countByStatus(batch.getId());
+            succeeded = counts.getOrDefault(RefundItemStatus.SUCCEEDED, 0L);
+            failed = counts.getOrDefault(RefundItemStatus.PERMANENT_FAILURE, 0L);
+        }
+
+        return new RefundBatchResponse(
+                batch.getId(),
+                batch.getEventId(),
+                batch.getStatus(),
+                batch.getTotalItems(),
+                succeeded,
+                failed,
+                batch.getTotalItems() - succeeded - failed,
+                batch.getStartedAt(),
+                batch.getCompletedAt(),
+                refundsPerSecond(batch, succeeded + failed));
+    }
+
+    private Map<RefundItemStatus, Long> countByStatus(UUID batchId) {
+        return itemRepository.countByStatus(batchId).stream()
+                .collect(Collectors.toMap(RefundItemStatusCount::getStatus, RefundItemStatusCount::getCount));
+    }
+
+    private static double refundsPerSecond(RefundBatch batch, long settledItems) {
+        Instant end = Objects.nonNull(batch.getCompletedAt()) ? batch.getCompletedAt() : Instant.now();
+        long elapsedMillis = Math.max(1, Duration.between(batch.getStartedAt(), end).toMillis());
+        return settledItems * 1000.0 / elapsedMillis;
+    }
+}
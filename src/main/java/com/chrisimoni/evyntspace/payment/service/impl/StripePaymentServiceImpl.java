@@ -4,23 +4,29 @@ import com.chrisimoni.evyntspace.common.config.AuthenticationContext;
 import com.chrisimoni.evyntspace.common.exception.BadRequestException;
 import com.chrisimoni.evyntspace.common.exception.ExternalServiceException;
 import com.chrisimoni.evyntspace.event.enums.PaymentStatus;
+import com.chrisimoni.evyntspace.payment.config.StripeBulkhead;
+import com.chrisimoni.evyntspace.payment.dto.PaymentAccountSnapshot;
 import com.chrisimoni.evyntspace.payment.dto.StripeOnboardingResponse;
 import com.chrisimoni.evyntspace.payment.enums.CurrencyType;
 import com.chrisimoni.evyntspace.payment.enums.PaymentPlatform;
+import com.chrisimoni.evyntspace.payment.enums.RefundItemStatus;
 import com.chrisimoni.evyntspace.payment.enums.TransactionStatus;
 import com.chrisimoni.evyntspace.common.events.PaymentConfirmationEvent;
 import com.chrisimoni.evyntspace.payment.model.PaymentAccount;
 import com.chrisimoni.evyntspace.payment.model.Transaction;
+import com.chrisimoni.evyntspace.payment.repository.RefundBatchItemRepository;
+import com.chrisimoni.evyntspace.payment.repository.StripeWebhookInboxRepository;
 import com.chrisimoni.evyntspace.payment.service.PaymentAccountService;
 import com.chrisimoni.evyntspace.payment.service.PaymentService;
 import com.chrisimoni.evyntspace.payment.service.TransactionService;
 import com.chrisimoni.evyntspace.user.model.User;
 import com.chrisimoni.evyntspace.user.service.UserService;
-import com.stripe.Stripe;
+import com.stripe.StripeClient;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.*;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.ApiResource;
 import com.stripe.net.RequestOptions;
 import com.stripe.net.Webhook;
 import com.stripe.param.AccountCreateParams;
@@ -34,6 +40,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -44,11 +51,17 @@ import static com.chrisimoni.evyntspace.payment.util.PaymentUtil.*;
 @Service
 @Slf4j
 public class StripePaymentServiceImpl implements PaymentService {
+    private static final String CHARGE_ALREADY_REFUNDED = "charge_already_refunded";
+
     private final PaymentAccountService paymentAccountService;
     private final ApplicationEventPublisher eventPublisher;
     private final UserService userService;
     private final TransactionService transactionService;
     private final AuthenticationContext authenticationContext;
+    private final StripeWebhookInboxRepository webhookInboxRepository;
+    private final RefundBatchItemRepository refundBatchItemRepository;
+    private final StripeClient stripeClient;
+    private final StripeBulkhead stripeBulkhead;
 
     @Value("${spring.application.base-url}")
     private String baseUrl;
@@ -63,18 +76,24 @@ public class StripePaymentServiceImpl implements PaymentService {
     private int platformFeePercentage;
 
     public StripePaymentServiceImpl(
-            @Value("${stripe.api.secret-key}") String secretKey,
             PaymentAccountService paymentAccountService,
             UserService userService,
             TransactionService transactionService,
             ApplicationEventPublisher eventPublisher,
-            AuthenticationContext authenticationContext) {
-        Stripe.apiKey = secretKey; // initialize Stripe SDK
+            AuthenticationContext authenticationContext,
+            StripeWebhookInboxRepository webhookInboxRepository,
+            RefundBatchItemRepository refundBatchItemRepository,
+            StripeClient stripeClient,
+            StripeBulkhead stripeBulkhead) {
         this.paymentAccountService = paymentAccountService;
         this.userService = userService;
         this.transactionService = transactionService;
         this.eventPublisher = eventPublisher;
         this.authenticationContext = authenticationContext;
+        this.webhookInboxRepository = webhookInboxRepository;
+        this.refundBatchItemRepository = refundBatchItemRepository;
+        this.stripeClient = stripeClient;
+        this.stripeBulkhead = stripeBulkhead;
     }
 
     //INITIAL IMPL WITHOUT DIRECT CHARGE
@@ -136,14 +155,14 @@ public class StripePaymentServiceImpl implements PaymentService {
             BigDecimal amount,
             String eventImageUrl) { // Added missing parameter for clarity
         try {
-            Optional<PaymentAccount> paymentAccountOptional = paymentAccountService.findByUserId(userId);
+            Optional<PaymentAccountSnapshot> paymentAccountOptional = paymentAccountService.findSnapshotByUserId(userId);
             if(paymentAccountOptional.isEmpty()) {
                 throw new BadRequestException("This event is currently unavailable for enrollment. " +
                         "The organizer needs to complete their payment setup. " +
                         "Please try again later or contact the event organizer.");
             }
 
-            String accountId = paymentAccountOptional.get().getAccountId();
+            String accountId = paymentAccountOptional.get().accountId();
 
             String successUrl = baseUrl + "/checkout/success";
             String cancelUrl = baseUrl + "/checkout/cancel";
@@ -192,7 +211,7 @@ public class StripePaymentServiceImpl implements PaymentService {
                     .setStripeAccount(accountId)
                     .build();
 
-            Session session = Session.create(params, options);
+            Session session = stripeBulkhead.execute(() -> stripeClient.checkout().sessions().create(params, options));
             return session.getUrl();
         } catch (StripeException e) {
             log.error("Failed to create Stripe checkout session -> {}", e.getMessage(), e);
@@ -201,9 +220,49 @@ public class StripePaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional
     public void handleStripeWebhook(String payload, String sigHeader) {
         Event event = verifySignature(payload, sigHeader, webhookSecret);
-        handleEvent(event);
+        enqueueEvent(event, payload);
+    }
+
+    /**
+     * Webhooks are only verified and stored, so Stripe gets its 2xx after a single insert;
+     * StripeWebhookInboxJob hands the stored payload back here. Runs in the inbox worker's transaction.
+     */
+    @Override
+    public void processWebhookEvent(String payload) {
+        handleEvent(ApiResource.GSON.fromJson(payload, Event.class));
+    }
+
+    private void enqueueEvent(Event event, String payload) {
+        int inserted = webhookInboxRepository.insertIfAbsent(
+                event.getId(),
+                event.getType(),
+                orderingKey(event),
+                Instant.ofEpochSecond(event.getCreated()),
+                payload);
+        if (inserted == 0) {
+            log.info("Ignoring redelivered Stripe event {} ({}).", event.getId(), event.getType());
+        }
+    }
+
+    // Events about the same reservation (or account) are processed one at a time, in order
+    private String orderingKey(Event event) {
+        StripeObject stripeObject = event.getDataObjectDeserializer().getObject().orElse(null);
+        Map<String, String> metadata = null;
+        if (stripeObject instanceof Session session) {
+            metadata = session.getMetadata();
+        } else if (stripeObject instanceof PaymentIntent paymentIntent) {
+            metadata = paymentIntent.getMetadata();
+        } else if (stripeObject instanceof Charge charge) {
+            metadata = charge.getMetadata();
+        } else if (stripeObject instanceof Account account) {
+            return "account:" + account.getId();
+        }
+
+        String reservationNumber = Objects.isNull(metadata) ? null : metadata.get("reservationNumber");
+        return Objects.nonNull(reservationNumber) ? reservationNumber : "event:" + event.getId();
     }
 
     private void handleEvent(Event event) {
@@ -237,6 +296,13 @@ public class StripePaymentServiceImpl implements PaymentService {
             return;
         }
 
+        // Refund batches update the enrollment, transaction and email themselves when the refund is issued
+        if (refundBatchItemRepository.existsByPaymentIntentIdAndStatusNot(
+                paymentIntentId, RefundItemStatus.PERMANENT_FAILURE)) {
+            log.debug("Charge {} was refunded by a refund batch. Nothing to do.", charge.getId());
+            return;
+        }
+
         Long amount = charge.getAmount();
         String currency = charge.getCurrency();
 
@@ -260,6 +326,14 @@ public class StripePaymentServiceImpl implements PaymentService {
 
         PaymentAccount paymentAccount = paymentAccountService.findByAccountId(accountId);
 
+        // account.updated also fires for unrelated changes; skip the write (and cache eviction) when the flags match
+        if (paymentAccount != null
+                && paymentAccount.isChargesEnabled() == Boolean.TRUE.equals(chargesEnabled)
+                && paymentAccount.isPayoutsEnabled() == Boolean.TRUE.equals(payoutsEnabled)) {
+            log.debug("PaymentAccount {} unchanged by account.updated.", accountId);
+            return;
+        }
+
         if (paymentAccount != null) {
             // Update the flags based on the webhook event
             paymentAccount.setChargesEnabled(chargesEnabled);
@@ -398,35 +472,51 @@ public class StripePaymentServiceImpl implements PaymentService {
             return;
         }
 
-        Optional<PaymentAccount> paymentAccountOptional  = paymentAccountService.findByUserId(userId);
+        Optional<PaymentAccountSnapshot> paymentAccountOptional  = paymentAccountService.findSnapshotByUserId(userId);
         if(paymentAccountOptional.isEmpty()) {
             log.error("No payment account found for user with the id: {}", userId);
             return;
         }
 
-        String connectedAccountId = paymentAccountOptional.get().getAccountId();
+        String connectedAccountId = paymentAccountOptional.get().accountId();
 
         String paymentIntentId = transactionOptional.get().getPaymentReferenceId();
 
+        refundPayment(paymentIntentId, connectedAccountId, null);
+    }
+
+    /**
+     * Refunds a direct charge in full on the organizer's account. Returns the refund id, or null when the
+     * charge was already refunded (e.g. a batch item retried after its idempotency key expired).
+     */
+    @Override
+    public String refundPayment(String paymentIntentId, String connectedAccountId, String idempotencyKey) {
         // Prepare Refund Parameters
-        RefundCreateParams.Builder paramsBuilder = RefundCreateParams.builder()
+        RefundCreateParams params = RefundCreateParams.builder()
                 .setPaymentIntent(paymentIntentId)
                 // Optional: If you want to refund your platform fee, you must include this.
                 // NOTE: This transfers the fee back from your platform balance to the organizer's account.
                 .setRefundApplicationFee(true)
-                .setReason(RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER); // Recommended reason
+                .setReason(RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER) // Recommended reason
+                .build();
 
         // Prepare Request Options (CRITICAL for Direct Charges)
         RequestOptions options = RequestOptions.builder()
                 .setStripeAccount(connectedAccountId) // Executes the refund against the organizer's account
+                .setIdempotencyKey(idempotencyKey)
                 .build();
 
         try {
-            Refund refund = Refund.create(paramsBuilder.build(), options);
+            Refund refund = stripeBulkhead.execute(() -> stripeClient.refunds().create(params, options));
 
             log.info("Successfully initiated refund {} for Payment Intent: {} on Account: {}",
                     refund.getId(), paymentIntentId, connectedAccountId);
+            return refund.getId();
         } catch (StripeException e) {
+            if (CHARGE_ALREADY_REFUNDED.equals(e.getCode())) {
+                log.info("Payment Intent {} on Account {} was already refunded.", paymentIntentId, connectedAccountId);
+                return null;
+            }
             log.error("Error occurred while initiating refund: {}", e.getMessage(), e);
             throw new ExternalServiceException("Error occurred while initiating refund", e);
         }
@@ -507,7 +597,7 @@ public class StripePaymentServiceImpl implements PaymentService {
                 .putMetadata("platform_user_id", userId)
                 .build();
 
-        Account account = Account.create(params);
+        Account account = stripeBulkhead.execute(() -> stripeClient.accounts().create(params));
         log.info("Successfully created Stripe connect account for: {}", organizerEmail);
         return account.getId();
     }
@@ -520,7 +610,7 @@ public class StripePaymentServiceImpl implements PaymentService {
                 .setType(AccountLinkCreateParams.Type.ACCOUNT_ONBOARDING)
                 .build();
 
-        AccountLink accountLink = AccountLink.create(params);
+        AccountLink accountLink = stripeBulkhead.execute(() -> stripeClient.accountLinks().create(params));
         log.info("Successfully created Stripe connect account link");
         return accountLink.getUrl();
     }
@@ -535,9 +625,10 @@ public class StripePaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional
     public void handleStripeConnectAccountWebhook(String payload, String sigHeader) {
         Event event = verifySignature(payload, sigHeader, connectWebhookSecret);
-        handleEvent(event);
+        enqueueEvent(event, payload);
     }
 
     private void processTransactionAndConfirmEvent(
@@ -0,0 +1,112 @@
+package com.chrisimoni.evyntspace.payment.service.impl;
+
+import com.chrisimoni.evyntspace.payment.enums.WebhookInboxStatus;
+import com.chrisimoni.evyntspace.payment.model.StripeWebhookInbox;
+import com.chrisimoni.evyntspace.payment.repository.StripeWebhookInboxRepository;
+import com.chrisimoni.evyntspace.payment.service.PaymentService;
+import com.chrisimoni.evyntspace.payment.service.StripeWebhookInboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StripeWebhookInboxServiceImpl implements StripeWebhookInboxService {
+    private final StripeWebhookInboxRepository inboxRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stripe.webhook.inbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${stripe.webhook.inbox.initial-retry-interval-seconds:10}")
+    private long initialRetryIntervalSeconds;
+
+    @Value("${stripe.webhook.inbox.retry-interval-factor:2}")
+    private int retryIntervalFactor;
+
+    // Must exceed the worst-case handling time of a single event
+    @Value("${stripe.webhook.inbox.lease-duration-seconds:120}")
+    private long leaseDurationSeconds;
+
+    // Identifies this instance as lease owner, for troubleshooting
+    @Value("${stripe.webhook.inbox.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+
+    /**
+     * Leases a batch of due events (at most one per reservation) to this instance in a short transaction.
+     */
+    @Override
+    @Transactional
+    public List<StripeWebhookInbox> claimEventsToProcess(int batchSize) {
+        Instant now = Instant.now();
+        List<StripeWebhookInbox> events = inboxRepository.findAndLockEventsToClaim(now, batchSize);
+
+        Instant leaseExpiresAt = now.plusSeconds(leaseDurationSeconds);
+        events.forEach(event -> event.lease(nodeId, leaseExpiresAt));
+        return events;
+    }
+
+    /**
+     * Handles the event and marks it PROCESSED in one transaction, so the transaction rows it writes and the
+     * inbox status commit together; a failure rolls both back and schedules a retry.
+     */
+    @Override
+    public void processSingleEvent(StripeWebhookInbox inboxEvent) {
+        // An event whose lease ran out while queued may already be claimed elsewhere; leave it to that worker
+        if (inboxEvent.getLeaseExpiresAt() != null && inboxEvent.getLeaseExpiresAt().isBefore(Instant.now())) {
+            log.warn("Lease on Stripe event {} expired before processing. Skipping.", inboxEvent.getEventId());
+            return;
+        }
+
+        inboxEvent.setAttempts(inboxEvent.getAttempts() + 1);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                paymentService.processWebhookEvent(inboxEvent.getPayload());
+                inboxEvent.markAsProcessed();
+                inboxRepository.save(inboxEvent);
+            });
+            log.info("Processed Stripe event {} ({}) on attempt {}.",
+                    inboxEvent.getEventId(), inboxEvent.getEventType(), inboxEvent.getAttempts());
+        } catch (Exception e) {
+            log.warn("Stripe event {} ({}) failed on attempt {}/{}. Error: {}", inboxEvent.getEventId(),
+                    inboxEvent.getEventType(), inboxEvent.getAttempts(), maxAttempts, e.getMessage());
+            handleFailure(inboxEvent, e.getMessage());
+            inboxRepository.save(inboxEvent);
+        }
+    }
+
+    private void handleFailure(StripeWebhookInbox inboxEvent, String error) {
+        if (inboxEvent.getAttempts() >= maxAttempts) {
+            inboxEvent.markPermanentFailure(error);
+            log.error("Stripe event {} permanently failed after {} attempts. Later events for {} are released.",
+                    inboxEvent.getEventId(), inboxEvent.getAttempts(), inboxEvent.getOrderingKey());
+            return;
+        }
+
+        long delaySeconds = (long) (initialRetryIntervalSeconds * Math.pow(
+                retryIntervalFactor, inboxEvent.getAttempts() - 1));
+        inboxEvent.markAsFailed(error, Instant.now().plusSeconds(delaySeconds));
+    }
+
+    @Override
+    @Transactional
+    public int deleteOldProcessedRecords(int retentionDays) {
+        Instant cutoffDate = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+        int deletedCount = inboxRepository.deleteOldProcessedRecords(
+                WebhookInboxStatus.PROCESSED,
+                WebhookInboxStatus.PERMANENT_FAILURE,
+                cutoffDate
+        );
+        log.info("Deleted {} old Stripe webhook inbox records older than {} days", deletedCount, retentionDays);
+        return deletedCount;
+    }
+}
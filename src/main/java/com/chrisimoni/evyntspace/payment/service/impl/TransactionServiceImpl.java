@@ -36,4 +36,10 @@ public class TransactionServiceImpl implements TransactionService {
     public Optional<Transaction> getTransactionById(UUID transactionId) {
         return repository.findById(transactionId);
     }
+
+    @Override
+    @Transactional
+    public void updateStatus(UUID transactionId, TransactionStatus status) {
+        repository.updateStatus(transactionId, status);
+    }
 }
@@ -4,12 +4,14 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 public class PaymentUtil {
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
     public static long convertAmountToCent(BigDecimal amount) {
         // Explicitly round to two decimal places (standard for currencies)
         BigDecimal roundedAmount = amount.setScale(2, RoundingMode.HALF_UP);
 
-        // Multiply by 100 to get the value in cents
-        BigDecimal priceInCents = roundedAmount.multiply(new BigDecimal("100"));
+        // Shift two places to get the value in cents (same value as multiplying by 100, no multiplication)
+        BigDecimal priceInCents = roundedAmount.movePointRight(2);
 
         return priceInCents.longValueExact();
     }
@@ -21,8 +23,8 @@ public class PaymentUtil {
 
     public static long calculatePlatformFee(BigDecimal amount, int platformFeePercentage) {
         // 1. Convert the percentage to a decimal (e.g., 10 -> 0.10)
-        BigDecimal feeRate = new BigDecimal(platformFeePercentage)
-                .divide(new BigDecimal(100), 4, RoundingMode.HALF_UP);
+        BigDecimal feeRate = BigDecimal.valueOf(platformFeePercentage)
+                .divide(ONE_HUNDRED, 4, RoundingMode.HALF_UP);
 
         // Calculate the fee amount (Amount * Rate)
         BigDecimal feeAmount = amount.multiply(feeRate);
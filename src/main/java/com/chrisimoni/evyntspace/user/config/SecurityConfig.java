@@ -5,7 +5,11 @@ import com.chrisimoni.evyntspace.user.filter.JwtAuthenticationFilter;
 import com.chrisimoni.evyntspace.user.handler.OAuth2AuthenticationFailureHandler;
 import com.chrisimoni.evyntspace.user.handler.OAuth2AuthenticationSuccessHandler;
 import com.chrisimoni.evyntspace.user.service.CustomOAuth2UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,9 +21,9 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -34,6 +38,19 @@ public class SecurityConfig {
     private final CustomOAuth2UserService customOAuth2UserService;
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final OAuth2AuthenticationFailureHandler oAuth2AuthenticationFailureHandler;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+
+    @Value("${auth.password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${auth.password-hashing.threads:0}") // 0 = number of available processors
+    private int hashingThreads;
+
+    @Value("${auth.password-hashing.queue-capacity:16}")
+    private int hashingQueueCapacity;
+
+    @Value("${auth.password-hashing.max-wait-ms:2000}")
+    private long hashingMaxWaitMillis;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -75,6 +92,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes a password on successful login when its stored cost is below bcrypt-strength
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -83,8 +102,19 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(bcryptStrength), threads, hashingQueueCapacity, hashingMaxWaitMillis);
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public ExecutorServiceMetrics passwordHashingExecutorMetrics(BoundedPasswordEncoder passwordEncoder,
+                                                                 MeterRegistry meterRegistry) {
+        ExecutorServiceMetrics metrics = new ExecutorServiceMetrics(
+                passwordEncoder.getExecutor(), "password-hashing", Tags.empty());
+        metrics.bindTo(meterRegistry);
+        return metrics;
     }
 }
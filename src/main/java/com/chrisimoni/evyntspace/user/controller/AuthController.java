@@ -1,8 +1,9 @@
 package com.chrisimoni.evyntspace.user.controller;
 
 import com.chrisimoni.evyntspace.common.dto.ApiResponse;
+import com.chrisimoni.evyntspace.common.model.SecurityPrincipal;
+import com.chrisimoni.evyntspace.common.ratelimit.RateLimited;
 import com.chrisimoni.evyntspace.user.dto.*;
-import com.chrisimoni.evyntspace.user.model.User;
 import com.chrisimoni.evyntspace.user.model.VerifiedSession;
 import com.chrisimoni.evyntspace.user.service.AuthService;
 import jakarta.validation.Valid;
@@ -20,6 +21,7 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/request-verification-code")
+    @RateLimited("verification-code")
     public ApiResponse<Void> requestVerificationCode(
             @Valid @RequestBody EmailRequest request) {
         authService.requestVerificationCode(request.email());
@@ -32,7 +34,7 @@ public class AuthController {
             @Valid @RequestBody VerifyCodeRequest request) {
         VerifiedSession session = authService.confirmVerificationCode(
                 request.email(), request.code());
-        VerificationResponse response = new VerificationResponse(session.getId(), session.getExpirationTime());
+        VerificationResponse response = new VerificationResponse(session.id(), session.expirationTime());
         return ApiResponse.success("Email successfully verified.", response);
     }
 
@@ -50,6 +52,7 @@ public class AuthController {
     }
 
     @PostMapping("/request-login-code")
+    @RateLimited("login-code")
     public ApiResponse<Void> requestLoginCode(
             @Valid @RequestBody EmailRequest request) {
         authService.requestLoginCode(request.email());
@@ -69,6 +72,7 @@ public class AuthController {
     }
 
     @PostMapping("/forgot-password")
+    @RateLimited("password-reset")
     public ApiResponse<Void> forgotPassword(@Valid @RequestBody EmailRequest request) {
         authService.requestPasswordReset(request.email());
         return ApiResponse.success("Please check your email for newPassword reset link.");
@@ -89,7 +93,7 @@ public class AuthController {
     @PutMapping("/change-password")
     public ApiResponse<Void> changePassword(@Valid @RequestBody ChangePasswordRequest request,
                                                  Authentication authentication) {
-        UUID userId = ((User) authentication.getPrincipal()).getId();
+        UUID userId = ((SecurityPrincipal) authentication.getPrincipal()).getUserId();
         authService.changePassword(userId, request);
         return ApiResponse.success("Password updated successfully.");
     }
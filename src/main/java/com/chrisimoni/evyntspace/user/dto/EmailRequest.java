@@ -1,5 +1,6 @@
 package com.chrisimoni.evyntspace.user.dto;
 
+import com.chrisimoni.evyntspace.common.ratelimit.RateLimitSubject;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
@@ -7,5 +8,9 @@ public record EmailRequest(
         @NotBlank(message = "Email cannot be empty")
         @Email(message = "Email must be a valid email address")
         String email
-) {
+) implements RateLimitSubject {
+    @Override
+    public String rateLimitSubject() {
+        return email == null ? null : email.trim().toLowerCase();
+    }
 }
@@ -0,0 +1,20 @@
+package com.chrisimoni.evyntspace.user.dto;
+
+import com.chrisimoni.evyntspace.common.enums.Role;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims of an access token whose signature and expiry have been checked.
+ */
+public record VerifiedToken(
+        String subject,
+        UUID userId,
+        Role role,
+        Instant expiresAt
+) {
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
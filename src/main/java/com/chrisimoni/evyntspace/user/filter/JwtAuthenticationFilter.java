@@ -2,8 +2,10 @@ package com.chrisimoni.evyntspace.user.filter;
 
 import com.chrisimoni.evyntspace.common.exception.AuthExceptionHandler;
 import com.chrisimoni.evyntspace.common.exception.InvalidTokenException;
+import com.chrisimoni.evyntspace.user.dto.VerifiedToken;
+import com.chrisimoni.evyntspace.user.model.ClaimsPrincipal;
+import com.chrisimoni.evyntspace.user.service.DeactivatedUserRegistry;
 import com.chrisimoni.evyntspace.user.service.JwtService;
-import com.chrisimoni.evyntspace.user.service.UserService;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -13,7 +15,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -24,7 +25,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
-    private final UserService userService;
+    private final DeactivatedUserRegistry deactivatedUserRegistry;
     private final AuthExceptionHandler authExceptionHandler;
 
     @Override
@@ -43,23 +44,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             // Extract the token excluding Bearer and a single space
             String jwt = authHeader.substring(7);
-            String userEmail = jwtService.extractUsername(jwt);
+            VerifiedToken token = jwtService.verify(jwt);
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userService.loadUserByUsername(userEmail);
+            if (deactivatedUserRegistry.isDeactivated(token.userId())) {
+                authExceptionHandler.commence(request, response, new InvalidTokenException("User account is disabled"));
+                return;
+            }
 
-                if (jwtService.isTokenValid(jwt)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null, // Credentials are not stored in context for JWT
-                            userDetails.getAuthorities()
-                    );
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Built from the verified claims; no user lookup per request
+                ClaimsPrincipal principal = ClaimsPrincipal.from(token);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null, // Credentials are not stored in context for JWT
+                        principal.getAuthorities()
+                );
 
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request)
+                );
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }catch (ExpiredJwtException e) {
             // Handle Token Expired (401)
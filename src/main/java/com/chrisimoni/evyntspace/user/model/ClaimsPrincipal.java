@@ -0,0 +1,43 @@
+package com.chrisimoni.evyntspace.user.model;
+
+import com.chrisimoni.evyntspace.common.enums.Role;
+import com.chrisimoni.evyntspace.common.model.SecurityPrincipal;
+import com.chrisimoni.evyntspace.user.dto.VerifiedToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Authenticated principal built from verified access token claims, so authenticated requests
+ * do not load the User entity. Deactivated accounts are rejected by the filter before this is created.
+ */
+public record ClaimsPrincipal(UUID userId, String email, Role role) implements UserDetails, SecurityPrincipal {
+
+    public static ClaimsPrincipal from(VerifiedToken token) {
+        return new ClaimsPrincipal(token.userId(), token.subject(), token.role());
+    }
+
+    @Override
+    public UUID getUserId() {
+        return userId;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // Never carried in the token
+    }
+}
@@ -87,4 +87,16 @@ public class User extends ActivatableEntity implements UserDetails, SecurityPrin
     public UUID getUserId() {
         return this.getId();
     }
+
+    // Detached copy of the current state, used for cached snapshots
+    public User copy() {
+        User copy = new User(firstName, lastName, email, password, company, phoneNumber, profileImageUrl,
+                countryCode, role, provider);
+        copy.setId(getId());
+        copy.setCreatedAt(getCreatedAt());
+        copy.setUpdatedAt(getUpdatedAt());
+        copy.setActive(isActive());
+        copy.setDeactivatedAt(getDeactivatedAt());
+        return copy;
+    }
 }
@@ -1,28 +1,10 @@
 package com.chrisimoni.evyntspace.user.model;
 
-import com.chrisimoni.evyntspace.common.model.BaseEntity;
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
 import java.time.Instant;
-import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "verified_sessions")
-@Getter
-@Setter
-@NoArgsConstructor
-public class VerifiedSession extends BaseEntity {
-    private String email;
-    private Instant expirationTime;
-    private boolean isUsed;
+import java.util.UUID;
 
-    public VerifiedSession(String email, Instant expirationTime) {
-        this.email = email;
-        this.expirationTime = expirationTime;
-    }
+/**
+ * Proof that an email was verified, redeemed once at signup using its id.
+ */
+public record VerifiedSession(UUID id, String email, Instant expirationTime) {
 }
@@ -3,12 +3,20 @@ package com.chrisimoni.evyntspace.user.repository;
 import com.chrisimoni.evyntspace.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.active = false")
+    List<UUID> findInactiveUserIds();
+
+    List<UserStatusView> findByUpdatedAtAfter(Instant since);
 }
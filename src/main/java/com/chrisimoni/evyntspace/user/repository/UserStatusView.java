@@ -0,0 +1,10 @@
+package com.chrisimoni.evyntspace.user.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface UserStatusView {
+    UUID getId();
+    boolean isActive();
+    Instant getUpdatedAt();
+}
@@ -1,6 +1,9 @@
 package com.chrisimoni.evyntspace.user.scheduler;
 
 import com.chrisimoni.evyntspace.user.repository.TokenRepository;
+import com.chrisimoni.evyntspace.user.service.DeactivatedUserRegistry;
+import com.chrisimoni.evyntspace.user.service.ShortLivedCredentialStore;
+import com.chrisimoni.evyntspace.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -8,12 +11,17 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class UserScheduler {
     private final TokenRepository tokenRepository;
+    private final DeactivatedUserRegistry deactivatedUserRegistry;
+    private final UserService userService;
+    private final ShortLivedCredentialStore credentialStore;
 
     // Scheduled cleanup of expired tokens
     @Scheduled(cron = "0 0 3 * * ?")  // Run at 3 AM daily
@@ -24,4 +32,20 @@ public class UserScheduler {
             log.info("Cleaned up {} expired tokens", deleted);
         }
     }
+
+    // Expired verification codes and sessions
+    @Scheduled(cron = "${auth.credential-store.purge-cron:0 */15 * * * *}")
+    public void purgeExpiredCredentials() {
+        int purged = credentialStore.purgeExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired verification codes/sessions", purged);
+        }
+    }
+
+    // Picks up users changed on other instances: status for the registry, snapshots for the user cache
+    @Scheduled(fixedDelayString = "${auth.deactivated-users.refresh-interval-ms:10000}")
+    public void refreshDeactivatedUsers() {
+        List<UUID> changedUserIds = deactivatedUserRegistry.refresh();
+        userService.evictCachedUsers(changedUserIds);
+    }
 }
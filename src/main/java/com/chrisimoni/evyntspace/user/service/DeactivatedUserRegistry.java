@@ -0,0 +1,70 @@
+package com.chrisimoni.evyntspace.user.service;
+
+import com.chrisimoni.evyntspace.user.repository.UserRepository;
+import com.chrisimoni.evyntspace.user.repository.UserStatusView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of deactivated user ids, checked on every authenticated request instead of loading the user.
+ * Loaded at startup, updated immediately for status changes made on this instance, and refreshed from
+ * users changed since the last poll (by updated_at) so changes made on other instances arrive within one interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeactivatedUserRegistry {
+    // Re-read a short window before the watermark so rows committed late with an earlier updated_at are not missed
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository repository;
+    private final Set<UUID> deactivatedUserIds = ConcurrentHashMap.newKeySet();
+    private volatile Instant watermark;
+
+    @PostConstruct
+    public void load() {
+        watermark = Instant.now();
+        deactivatedUserIds.addAll(repository.findInactiveUserIds());
+        log.info("Loaded {} deactivated users.", deactivatedUserIds.size());
+    }
+
+    public boolean isDeactivated(UUID userId) {
+        return deactivatedUserIds.contains(userId);
+    }
+
+    public void markDeactivated(UUID userId) {
+        deactivatedUserIds.add(userId);
+    }
+
+    public void markActive(UUID userId) {
+        deactivatedUserIds.remove(userId);
+    }
+
+    // Returns the ids of users changed since the last refresh
+    public List<UUID> refresh() {
+        List<UserStatusView> changed = repository.findByUpdatedAtAfter(watermark.minus(POLL_OVERLAP));
+
+        Instant latest = watermark;
+        for (UserStatusView user : changed) {
+            if (user.isActive()) {
+                markActive(user.getId());
+            } else {
+                markDeactivated(user.getId());
+            }
+            if (user.getUpdatedAt().isAfter(latest)) {
+                latest = user.getUpdatedAt();
+            }
+        }
+        watermark = latest;
+        return changed.stream().map(UserStatusView::getId).toList();
+    }
+}
@@ -1,9 +1,14 @@
 package com.chrisimoni.evyntspace.user.service;
 
+import com.chrisimoni.evyntspace.user.dto.VerifiedToken;
 import com.chrisimoni.evyntspace.user.model.User;
 
 public interface JwtService {
     String generateToken(User user);
-    String extractUsername(String token);
-    boolean isTokenValid(String token);
+
+    /**
+     * Verifies the signature and expiry of an access token and returns its claims.
+     * Throws ExpiredJwtException for expired tokens and JwtException for invalid ones.
+     */
+    VerifiedToken verify(String token);
 }
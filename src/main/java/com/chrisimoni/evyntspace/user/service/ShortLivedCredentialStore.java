@@ -0,0 +1,29 @@
+package com.chrisimoni.evyntspace.user.service;
+
+import com.chrisimoni.evyntspace.user.model.VerifiedSession;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Holds signup verification codes and verified sessions. Each email has at most one outstanding code
+ * and one outstanding session: saving a new one replaces the previous, and redeeming one removes it.
+ * Selected with auth.credential-store: jdbc (default, shared between instances) or memory (single node).
+ */
+public interface ShortLivedCredentialStore {
+
+    enum CodeCheck { CONSUMED, MISMATCH, NOT_FOUND }
+
+    void saveCode(String email, String codeHash, Instant expiresAt);
+
+    // Removes the code only when the hash matches; a wrong guess leaves it in place
+    CodeCheck consumeCode(String email, String codeHash, Instant now);
+
+    VerifiedSession createSession(String email, Instant expiresAt);
+
+    Optional<VerifiedSession> consumeSession(UUID sessionId, Instant now);
+
+    // Deletes expired codes and sessions; returns how many were removed
+    int purgeExpired(Instant now);
+}
@@ -9,14 +9,17 @@ import com.chrisimoni.evyntspace.user.model.User;
 import jakarta.validation.Valid;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface UserService extends BaseService<User, UUID> {
     User createUser(User model);
     User getUserByEmail(String email);
+    User getUserForUpdate(UUID id);
     void validateEmailIsUnique(String email);
     PageResponse<UserResponse> getUsers(UserSearchCriteria filter);
     UserResponse getUser(UUID userId);
     UserDetails loadUserByUsername(String email);
     UserResponse updateUser(UUID id, UserUpdateRequest request);
+    void evictCachedUsers(Collection<UUID> ids);
 }
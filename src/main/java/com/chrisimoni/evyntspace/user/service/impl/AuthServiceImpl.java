@@ -15,12 +15,11 @@ import com.chrisimoni.evyntspace.user.dto.UserCreateRequest;
 import com.chrisimoni.evyntspace.user.mapper.UserMapper;
 import com.chrisimoni.evyntspace.user.model.Token;
 import com.chrisimoni.evyntspace.user.model.User;
-import com.chrisimoni.evyntspace.user.model.VerificationCode;
 import com.chrisimoni.evyntspace.user.model.VerifiedSession;
-import com.chrisimoni.evyntspace.user.repository.VerificationCodeRepository;
-import com.chrisimoni.evyntspace.user.repository.VerificationSessionRepository;
 import com.chrisimoni.evyntspace.user.service.AuthService;
 import com.chrisimoni.evyntspace.user.service.JwtService;
+import com.chrisimoni.evyntspace.user.service.ShortLivedCredentialStore;
+import com.chrisimoni.evyntspace.user.service.ShortLivedCredentialStore.CodeCheck;
 import com.chrisimoni.evyntspace.user.service.TokenService;
 import com.chrisimoni.evyntspace.user.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -37,7 +36,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Objects;
 import java.util.UUID;
 
 import static com.chrisimoni.evyntspace.common.util.ValidationUtil.*;
@@ -47,8 +45,7 @@ import static com.chrisimoni.evyntspace.user.util.UserUtil.hash;
 @RequiredArgsConstructor
 @Slf4j
 public class AuthServiceImpl implements AuthService {
-    private final VerificationCodeRepository verificationCodeRepository;
-    private final VerificationSessionRepository sessionRepository;
+    private final ShortLivedCredentialStore credentialStore;
     private final UserService userService;
     private final ApplicationEventPublisher eventPublisher;
     private final PasswordEncoder passwordEncoder;
@@ -67,8 +64,8 @@ public class AuthServiceImpl implements AuthService {
     public void requestVerificationCode(String email) {
         validateEmailFormat(email);
         userService.validateEmailIsUnique(email);
-        verificationCodeRepository.invalidatePreviousCodes(email);
 
+        // Replaces any previous code for this email
         String code = generateAndSaveCode(email);
 
         eventPublisher.publishEvent(new VerificationCodeRequestedEvent(
@@ -79,45 +76,33 @@ public class AuthServiceImpl implements AuthService {
     @Transactional
     public VerifiedSession confirmVerificationCode(String email, String code) {
         validateEmailFormat(email);
-        VerificationCode verificationCode = verificationCodeRepository
-                .findActiveVerificatonCodeByEmail(email, Instant.now())
-                .orElseThrow(() -> new BadRequestException("Verification failed: No active code found or code expired/used."));
+        Instant now = Instant.now();
 
-        if(!Objects.equals(hash(code), verificationCode.getCode())) {
+        CodeCheck codeCheck = credentialStore.consumeCode(email, hash(code), now);
+        if (codeCheck == CodeCheck.NOT_FOUND) {
+            throw new BadRequestException("Verification failed: No active code found or code expired/used.");
+        }
+        if (codeCheck == CodeCheck.MISMATCH) {
             throw new BadRequestException("Verification failed: Invalid code.");
         }
 
-        verificationCode.setUsed(true);
-        verificationCodeRepository.save(verificationCode);
-
-        return createSession(email);
-    }
-
-    @Transactional
-    protected VerifiedSession createSession(String email) {
-        //TODO: rework verification session
-        sessionRepository.invalidatePreviousSessions(email);
-        Instant sessionExpirationTime = Instant.now().plus(sessionValidity, ChronoUnit.MINUTES);
-        VerifiedSession session = new VerifiedSession(email, sessionExpirationTime);
-        return sessionRepository.save(session);
+        // Replaces any previous session for this email
+        Instant sessionExpirationTime = now.plus(sessionValidity, ChronoUnit.MINUTES);
+        return credentialStore.createSession(email, sessionExpirationTime);
     }
 
     @Override
     @Transactional
     public void verifyEmailSession(String email, UUID verficationToken) {
-        //validate email verification token
-        VerifiedSession verifiedSession = sessionRepository
-                .findByIdAndIsUsedFalseAndExpirationTimeAfter(verficationToken, Instant.now())
+        // Consuming the session prevents reuse
+        VerifiedSession verifiedSession = credentialStore
+                .consumeSession(verficationToken, Instant.now())
                 .orElseThrow(() -> new BadRequestException(
                         "Email verification token is invalid or expired. Please re-verify your email."));
 
-        if(!verifiedSession.getEmail().equalsIgnoreCase(email)) {
+        if(!verifiedSession.email().equalsIgnoreCase(email)) {
             throw new BadRequestException("Email in request does not match verified email in token.");
         }
-
-        //mark the verification session as used to prevent reuse
-        verifiedSession.setUsed(true);
-        sessionRepository.save(verifiedSession);
     }
 
     @Override
@@ -213,7 +198,7 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public void changePassword(UUID userId, ChangePasswordRequest request) {
-        User user = userService.findById(userId);
+        User user = userService.getUserForUpdate(userId);
 
         if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
             throw new InvalidPasswordException("Current password is not correct.");
@@ -265,8 +250,7 @@ public class AuthServiceImpl implements AuthService {
         //generate 6-digit code
         String plainCode = generateCode();
         Instant expirationTime = Instant.now().plus(codeValidity, ChronoUnit.MINUTES);
-        VerificationCode verificationCode = new VerificationCode(email, hash(plainCode), expirationTime);
-        verificationCodeRepository.save(verificationCode);
+        credentialStore.saveCode(email, hash(plainCode), expirationTime);
 
         return plainCode;
     }
@@ -0,0 +1,112 @@
+package com.chrisimoni.evyntspace.user.service.impl;
+
+import com.chrisimoni.evyntspace.user.model.VerifiedSession;
+import com.chrisimoni.evyntspace.user.service.ShortLivedCredentialStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Credential store for single-node deployments: Caffeine caches whose entries expire at the credential's
+ * own expiry. Outstanding codes and sessions are lost on restart, which only means re-requesting a code.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.credential-store.type", havingValue = "memory")
+public class InMemoryShortLivedCredentialStore implements ShortLivedCredentialStore {
+    private record StoredCode(String codeHash, Instant expiresAt) {
+    }
+
+    private final Cache<String, StoredCode> codesByEmail;
+    private final Cache<UUID, VerifiedSession> sessionsById;
+    private final Cache<String, UUID> sessionIdsByEmail;
+
+    public InMemoryShortLivedCredentialStore(
+            @Value("${auth.credential-store.memory.maximum-size:100000}") long maximumSize) {
+        this.codesByEmail = buildCache(maximumSize, StoredCode::expiresAt);
+        this.sessionsById = buildCache(maximumSize, VerifiedSession::expirationTime);
+        this.sessionIdsByEmail = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @Override
+    public void saveCode(String email, String codeHash, Instant expiresAt) {
+        codesByEmail.put(email, new StoredCode(codeHash, expiresAt));
+    }
+
+    @Override
+    public CodeCheck consumeCode(String email, String codeHash, Instant now) {
+        CodeCheck[] result = {CodeCheck.NOT_FOUND};
+        // Atomic per email, so two concurrent correct submissions cannot both consume the code
+        codesByEmail.asMap().computeIfPresent(email, (key, code) -> {
+            if (!code.expiresAt().isAfter(now)) {
+                return null;
+            }
+            if (!code.codeHash().equals(codeHash)) {
+                result[0] = CodeCheck.MISMATCH;
+                return code;
+            }
+            result[0] = CodeCheck.CONSUMED;
+            return null;
+        });
+        return result[0];
+    }
+
+    @Override
+    public VerifiedSession createSession(String email, Instant expiresAt) {
+        VerifiedSession session = new VerifiedSession(UUID.randomUUID(), email, expiresAt);
+        UUID previousId = sessionIdsByEmail.asMap().put(email, session.id());
+        if (previousId != null) {
+            sessionsById.invalidate(previousId);
+        }
+        sessionsById.put(session.id(), session);
+        return session;
+    }
+
+    @Override
+    public Optional<VerifiedSession> consumeSession(UUID sessionId, Instant now) {
+        VerifiedSession session = sessionsById.asMap().remove(sessionId);
+        if (session == null || !session.expirationTime().isAfter(now)) {
+            return Optional.empty();
+        }
+        sessionIdsByEmail.asMap().remove(session.email(), sessionId);
+        return Optional.of(session);
+    }
+
+    // Caffeine removes expired entries itself
+    @Override
+    public int purgeExpired(Instant now) {
+        codesByEmail.cleanUp();
+        sessionsById.cleanUp();
+        return 0;
+    }
+
+    private static <K, V> Cache<K, V> buildCache(long maximumSize, Function<V, Instant> expiresAt) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<K, V>() {
+                    @Override
+                    public long expireAfterCreate(K key, V value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), expiresAt.apply(value)).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+}
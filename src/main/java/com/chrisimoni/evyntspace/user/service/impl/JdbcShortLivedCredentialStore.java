@@ -0,0 +1,137 @@
+package com.chrisimoni.evyntspace.user.service.impl;
+
+import com.chrisimoni.evyntspace.user.model.VerifiedSession;
+import com.chrisimoni.evyntspace.user.service.ShortLivedCredentialStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Credential store on the verification_codes and verified_sessions tables: one upserted row per email
+ * (unique index on email), deleted when redeemed, and expired rows purged in small chunks.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.credential-store.type", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcShortLivedCredentialStore implements ShortLivedCredentialStore {
+    private static final String UPSERT_CODE = """
+            INSERT INTO verification_codes (id, email, code, expiration_time, is_used, created_at, updated_at)
+            VALUES (:id, :email, :code, :expiresAt, false, NOW(), NOW())
+            ON CONFLICT (email) DO UPDATE
+            SET code = EXCLUDED.code,
+                expiration_time = EXCLUDED.expiration_time,
+                is_used = false,
+                created_at = EXCLUDED.created_at,
+                updated_at = EXCLUDED.updated_at
+            """;
+    private static final String CONSUME_CODE = """
+            DELETE FROM verification_codes
+            WHERE email = :email AND code = :code AND expiration_time > :now
+            """;
+    private static final String ACTIVE_CODE_EXISTS = """
+            SELECT EXISTS (SELECT 1 FROM verification_codes WHERE email = :email AND expiration_time > :now)
+            """;
+    private static final String UPSERT_SESSION = """
+            INSERT INTO verified_sessions (id, email, expiration_time, is_used, created_at, updated_at)
+            VALUES (:id, :email, :expiresAt, false, NOW(), NOW())
+            ON CONFLICT (email) DO UPDATE
+            SET id = EXCLUDED.id,
+                expiration_time = EXCLUDED.expiration_time,
+                is_used = false,
+                created_at = EXCLUDED.created_at,
+                updated_at = EXCLUDED.updated_at
+            """;
+    private static final String CONSUME_SESSION = """
+            DELETE FROM verified_sessions
+            WHERE id = :id AND expiration_time > :now
+            RETURNING id, email, expiration_time
+            """;
+    private static final String PURGE_CHUNK = """
+            DELETE FROM %1$s
+            WHERE id IN (SELECT id FROM %1$s WHERE expiration_time < :now LIMIT :chunkSize)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int purgeChunkSize;
+
+    public JdbcShortLivedCredentialStore(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${auth.credential-store.purge-chunk-size:1000}") int purgeChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.purgeChunkSize = purgeChunkSize;
+    }
+
+    @Override
+    public void saveCode(String email, String codeHash, Instant expiresAt) {
+        jdbcTemplate.update(UPSERT_CODE, new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("email", email)
+                .addValue("code", codeHash)
+                .addValue("expiresAt", Timestamp.from(expiresAt)));
+    }
+
+    @Override
+    public CodeCheck consumeCode(String email, String codeHash, Instant now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("email", email)
+                .addValue("code", codeHash)
+                .addValue("now", Timestamp.from(now));
+        if (jdbcTemplate.update(CONSUME_CODE, params) > 0) {
+            return CodeCheck.CONSUMED;
+        }
+
+        Boolean activeCodeExists = jdbcTemplate.queryForObject(ACTIVE_CODE_EXISTS, params, Boolean.class);
+        return Boolean.TRUE.equals(activeCodeExists) ? CodeCheck.MISMATCH : CodeCheck.NOT_FOUND;
+    }
+
+    @Override
+    public VerifiedSession createSession(String email, Instant expiresAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(UPSERT_SESSION, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("email", email)
+                .addValue("expiresAt", Timestamp.from(expiresAt)));
+        return new VerifiedSession(id, email, expiresAt);
+    }
+
+    @Override
+    public Optional<VerifiedSession> consumeSession(UUID sessionId, Instant now) {
+        List<VerifiedSession> sessions = jdbcTemplate.query(CONSUME_SESSION,
+                new MapSqlParameterSource()
+                        .addValue("id", sessionId)
+                        .addValue("now", Timestamp.from(now)),
+                (rs, rowNum) -> new VerifiedSession(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("email"),
+                        rs.getTimestamp("expiration_time").toInstant()));
+        return sessions.stream().findFirst();
+    }
+
+    // Chunked so each DELETE holds its locks briefly and never builds a huge transaction
+    @Override
+    public int purgeExpired(Instant now) {
+        return purgeTable("verification_codes", now) + purgeTable("verified_sessions", now);
+    }
+
+    private int purgeTable(String table, Instant now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", Timestamp.from(now))
+                .addValue("chunkSize", purgeChunkSize);
+        String sql = PURGE_CHUNK.formatted(table);
+
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, params);
+            total += deleted;
+        } while (deleted == purgeChunkSize);
+        return total;
+    }
+}
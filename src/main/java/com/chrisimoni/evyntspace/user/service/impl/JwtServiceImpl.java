@@ -1,30 +1,62 @@
 package com.chrisimoni.evyntspace.user.service.impl;
 
+import com.chrisimoni.evyntspace.common.enums.Role;
+import com.chrisimoni.evyntspace.user.dto.VerifiedToken;
 import com.chrisimoni.evyntspace.user.model.User;
 import com.chrisimoni.evyntspace.user.service.JwtService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
+/**
+ * Issues and verifies access tokens. The signing key and parser are built once; verified tokens are
+ * cached by SHA-256 hash until they expire, so repeat requests with the same token skip the HMAC check
+ * and claims parsing. Only hashes are kept, never the raw bearer tokens. A maximum size of 0 disables the cache.
+ */
 @Service
-@RequiredArgsConstructor
 public class JwtServiceImpl implements JwtService {
-    @Value("${auth.secret}")
-    private String secretKey;
-    @Value("${auth.access-token-validity}")
-    private int tokenValidity;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int tokenValidity;
+    private final Cache<String, VerifiedToken> verifiedTokens; // null when disabled
+
+    public JwtServiceImpl(
+            @Value("${auth.secret}") String secretKey,
+            @Value("${auth.access-token-validity}") int tokenValidity,
+            @Value("${auth.verified-token-cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signingKey).build(); // Immutable and thread-safe
+        this.tokenValidity = tokenValidity;
+        // Caffeine evicts asynchronously, so a size 0 cache would still serve some hits; skip it instead
+        this.verifiedTokens = cacheMaximumSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaximumSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .build()
+                : null;
+    }
 
     @Override
     public String generateToken(User user) {
@@ -32,15 +64,21 @@ public class JwtServiceImpl implements JwtService {
     }
 
     @Override
-    public String extractUsername(String token) {
-        Claims claims = extractClaims(token);
-        return claims.getSubject();
-    }
+    public VerifiedToken verify(String token) {
+        if (verifiedTokens == null) {
+            return toVerifiedToken(parser.parseSignedClaims(token).getPayload());
+        }
 
-    @Override
-    public boolean isTokenValid(String token) {
-        Claims claims = extractClaims(token);
-        return claims.getExpiration().after(Date.from(Instant.now()));
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+
+        // Cache misses (and entries racing their expiry) go through the parser, which throws on expiry
+        VerifiedToken verified = toVerifiedToken(parser.parseSignedClaims(token).getPayload());
+        verifiedTokens.put(key, verified);
+        return verified;
     }
 
     private String buildToken(User user, int expiration) {
@@ -57,21 +95,53 @@ public class JwtServiceImpl implements JwtService {
                 .subject(user.getEmail())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
-                .signWith(getSignInKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith((SecretKey) getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        String userId = claims.get("userId", String.class);
+        String role = claims.get("role", String.class);
+        if (Objects.isNull(claims.getSubject()) || Objects.isNull(userId)
+                || Objects.isNull(role) || Objects.isNull(claims.getExpiration())) {
+            throw new MalformedJwtException("Access token is missing required claims.");
+        }
+
+        try {
+            return new VerifiedToken(
+                    claims.getSubject(),
+                    UUID.fromString(userId),
+                    Role.valueOf(role),
+                    claims.getExpiration().toInstant());
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("Access token has invalid claims.", e);
+        }
+    }
+
+    // Entries live until the token itself expires; reads and updates do not extend them
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -12,44 +12,63 @@ import com.chrisimoni.evyntspace.user.mapper.UserMapper;
 import com.chrisimoni.evyntspace.user.model.User;
 import com.chrisimoni.evyntspace.user.repository.UserRepository;
 import com.chrisimoni.evyntspace.user.repository.UserSpecification;
+import com.chrisimoni.evyntspace.user.service.DeactivatedUserRegistry;
 import com.chrisimoni.evyntspace.user.service.UserService;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.chrisimoni.evyntspace.common.config.CacheConfig.USERS_BY_EMAIL_CACHE;
+import static com.chrisimoni.evyntspace.common.config.CacheConfig.USERS_BY_ID_CACHE;
+
 @Service
 @Slf4j
-public class UserServiceImpl extends BaseServiceImpl<User, UUID> implements UserService, UserDetailsService {
+public class UserServiceImpl extends BaseServiceImpl<User, UUID> implements UserService, UserDetailsService,
+        UserDetailsPasswordService {
     private static final String RESOURCE_NAME = "User";
     private final UserRepository repository;
     private final AuthenticationContext authenticationContext;
     private final UserMapper mapper;
+    private final DeactivatedUserRegistry deactivatedUserRegistry;
+    private final Cache usersById;
+    private final Cache usersByEmail;
 
     @Value("${cloudinary.default-user-img}")
     private String defaultImage;
 
-    public UserServiceImpl(UserRepository repository, AuthenticationContext authenticationContext, UserMapper mapper) {
+    public UserServiceImpl(UserRepository repository, AuthenticationContext authenticationContext, UserMapper mapper,
+                           DeactivatedUserRegistry deactivatedUserRegistry, CacheManager cacheManager) {
         super(repository, RESOURCE_NAME);
         this.repository = repository;
         this.authenticationContext = authenticationContext;
         this.mapper = mapper;
+        this.deactivatedUserRegistry = deactivatedUserRegistry;
+        this.usersById = cacheManager.getCache(USERS_BY_ID_CACHE);
+        this.usersByEmail = cacheManager.getCache(USERS_BY_EMAIL_CACHE);
     }
 
     @Override
     @Transactional
     public User createUser(User model) {
         model.setProfileImageUrl(defaultImage);
-        return super.save(model);
+        return save(model);
     }
 
     @Override
@@ -84,19 +103,113 @@ public class UserServiceImpl extends BaseServiceImpl<User, UUID> implements User
         return getUserByEmail(email);
     }
 
+    // Called by DaoAuthenticationProvider after a successful login whose hash used an outdated cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = repository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newEncodedPassword);
+        return save(user);
+    }
+
     @Override
     @Transactional
     public UserResponse updateUser(UUID id, UserUpdateRequest request) {
-        User user = findById(id);
+        User user = getUserForUpdate(id);
         authenticationContext.validateUserAccess(id);
         user = mapper.updateUserFromDto(request, user);
 
-        return mapper.toResponseDto(super.save(user));
+        return mapper.toResponseDto(save(user));
+    }
+
+    @Override
+    @Transactional
+    public void updateStatus(UUID id, Boolean newStatus) {
+        // Not super.updateStatus: it would load (and then merge) the cached snapshot
+        User user = getUserForUpdate(id);
+        user.setActive(newStatus);
+        user.setDeactivatedAt(!newStatus ? Instant.now() : null);
+        repository.save(user);
+        evictUser(id, null);
+
+        // Apply to this instance's registry once committed; other instances pick it up on their next refresh
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (newStatus) {
+                    deactivatedUserRegistry.markActive(id);
+                } else {
+                    deactivatedUserRegistry.markDeactivated(id);
+                }
+            }
+        });
+    }
+
+    // Password changes, profile updates and OAuth2 sign-ups all go through save
+    @Override
+    @Transactional
+    public User save(User user) {
+        User saved = super.save(user);
+        evictUser(saved.getId(), saved.getEmail());
+        return saved;
+    }
+
+    @Override
+    public User findById(UUID id) {
+        User cached = usersById.get(id, User.class);
+        if (cached != null) {
+            return cached.copy();
+        }
+
+        User user = super.findById(id);
+        cacheUser(user);
+        return user;
+    }
+
+    /**
+     * Reads the row itself rather than a cached snapshot. Write paths must start from this: saving merges the
+     * whole row, and a snapshot up to a TTL old would overwrite newer values (password, active flag, profile).
+     */
+    @Override
+    public User getUserForUpdate(UUID id) {
+        return super.findById(id);
     }
 
     @Override
     public User getUserByEmail(String email) {
-        return repository.findByEmail(email)
+        User cached = usersByEmail.get(email, User.class);
+        if (cached != null) {
+            return cached.copy();
+        }
+
+        User user = repository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        cacheUser(user);
+        return user;
+    }
+
+    @Override
+    public void evictCachedUsers(Collection<UUID> ids) {
+        ids.forEach(id -> evictUser(id, null));
+    }
+
+    // Snapshots are copies, so callers that modify the returned User never change the cached one
+    private void cacheUser(User user) {
+        User snapshot = user.copy();
+        usersById.put(snapshot.getId(), snapshot);
+        usersByEmail.put(snapshot.getEmail(), snapshot);
+    }
+
+    // Evictions are deferred to commit by the transaction-aware cache manager
+    private void evictUser(UUID id, String email) {
+        User cached = usersById.get(id, User.class);
+        if (cached != null) {
+            usersByEmail.evict(cached.getEmail()); // The email may have just changed
+        }
+        if (email != null) {
+            usersByEmail.evict(email);
+        }
+        usersById.evict(id);
     }
 }
@@ -0,0 +1,10 @@
+-- Indexes backing keyset (seek) pagination on (created_at, id) for the event listings
+
+-- 1. Admin listing (no filters)
+CREATE INDEX IF NOT EXISTS idx_events_created_at_id ON events (created_at, id);
+
+-- 2. Public listing (status = 'PUBLISHED' AND active = true)
+CREATE INDEX IF NOT EXISTS idx_events_status_active_created_at_id ON events (status, active, created_at, id);
+
+-- 3. Organizer listing (non-admin users only see their own events)
+CREATE INDEX IF NOT EXISTS idx_events_user_id_created_at_id ON events (user_id, created_at, id);
@@ -0,0 +1,15 @@
+-- 1. Full-text search: a generated tsvector over title/summary/description, weighted by field.
+-- The 'simple' configuration is used because event content is multilingual (no stemming/stop words).
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(summary, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
+
+-- 2. Trigram index so the partial-match country filter (lower(country) LIKE '%term%') can use an index
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_events_country_trgm ON events USING GIN (lower(country) gin_trgm_ops);
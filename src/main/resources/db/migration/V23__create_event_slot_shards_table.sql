@@ -0,0 +1,14 @@
+-- Opt-in sharded slot inventory for high-demand events.
+-- slot_shard_count = 0 keeps the single-row counter on events.number_of_slots;
+-- otherwise remaining capacity is the sum of available_slots across the event's shards.
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS slot_shard_count INT4 NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS event_slot_shards (
+    event_id UUID NOT NULL,
+    shard_no INT4 NOT NULL,
+    available_slots INT4 NOT NULL DEFAULT 0,
+    PRIMARY KEY (event_id, shard_no),
+    CONSTRAINT fk_event_slot_shards_event_id FOREIGN KEY (event_id) REFERENCES events(id),
+    CONSTRAINT chk_event_slot_shards_available_slots CHECK (available_slots >= 0)
+);
@@ -0,0 +1,8 @@
+-- Lease columns so several workers/instances can claim outbox rows without sending a message twice.
+-- A claimed row is skipped by other claimers until lease_expires_at passes.
+ALTER TABLE notification_outbox
+    ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMPTZ(6) NULL,
+    ADD COLUMN IF NOT EXISTS leased_by VARCHAR(255) NULL;
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_status_next_attempt
+    ON notification_outbox (status, next_attempt_time);
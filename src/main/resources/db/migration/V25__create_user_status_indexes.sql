@@ -0,0 +1,5 @@
+-- Indexes for the in-memory deactivated-user registry: the startup load of inactive users
+-- and the periodic poll for users changed since the last refresh
+CREATE INDEX IF NOT EXISTS idx_users_inactive ON users (id) WHERE active = false;
+
+CREATE INDEX IF NOT EXISTS idx_users_updated_at ON users (updated_at);
@@ -0,0 +1,26 @@
+-- Verification codes and verified sessions are now upserted (one row per email) and deleted once used,
+-- with a periodic purge of expired rows, so neither table grows without bound.
+
+-- 1. Drop rows that can never be used again
+DELETE FROM verification_codes WHERE is_used = true OR expiration_time < NOW();
+DELETE FROM verified_sessions WHERE is_used = true OR expiration_time < NOW();
+
+-- 2. Keep only the latest outstanding row per email
+DELETE FROM verification_codes older
+    USING verification_codes newer
+    WHERE older.email = newer.email
+      AND (older.created_at, older.id) < (newer.created_at, newer.id);
+
+DELETE FROM verified_sessions older
+    USING verified_sessions newer
+    WHERE older.email = newer.email
+      AND (older.created_at, older.id) < (newer.created_at, newer.id);
+
+-- 3. Upsert target and purge indexes
+DROP INDEX IF EXISTS idx_vc_email_is_used;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_verification_codes_email ON verification_codes (email);
+CREATE INDEX IF NOT EXISTS idx_verification_codes_expiration_time ON verification_codes (expiration_time);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_verified_sessions_email ON verified_sessions (email);
+CREATE INDEX IF NOT EXISTS idx_verified_sessions_expiration_time ON verified_sessions (expiration_time);
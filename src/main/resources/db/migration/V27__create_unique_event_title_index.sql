@@ -0,0 +1,31 @@
+-- Title uniqueness is case-insensitive and now enforced by the database instead of an
+-- existsByTitleIgnoreCase pre-check (a full scan of events, and racy under concurrent creates).
+
+-- 1. Rename any existing case-insensitive duplicates, keeping the oldest event's title as is.
+--    The suffix is the first 8 characters of the event id, or the whole id if that title is already taken,
+--    so a renamed title cannot collide with an existing "Foo (1)"; the title is cut to keep within 255.
+WITH duplicates AS (
+    SELECT id, title, row_number() OVER (PARTITION BY lower(title) ORDER BY created_at, id) AS rn
+    FROM events
+), renamed AS (
+    SELECT d.id, d.title,
+           CASE WHEN EXISTS (
+                    SELECT 1 FROM events o
+                    WHERE lower(o.title) = lower(d.title || ' (' || left(d.id::text, 8) || ')'))
+                THEN ' (' || d.id::text || ')'
+                ELSE ' (' || left(d.id::text, 8) || ')'
+           END AS suffix
+    FROM duplicates d
+    WHERE d.rn > 1
+)
+UPDATE events e
+SET title = left(r.title, 255 - length(r.suffix)) || r.suffix
+FROM renamed r
+WHERE e.id = r.id;
+
+-- 2. Unique functional index backing both the constraint and lower(title) lookups
+CREATE UNIQUE INDEX IF NOT EXISTS uq_events_lower_title ON events (lower(title));
+
+-- 3. slug is already covered by the events_slug_key constraint; the second unique index only slowed writes
+--    and made the violated constraint name ambiguous
+DROP INDEX IF EXISTS idx_events_slug;
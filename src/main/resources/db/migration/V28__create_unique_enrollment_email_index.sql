@@ -0,0 +1,42 @@
+-- One enrollment per (event, case-insensitive email), enforced by the database so concurrent submits for the
+-- same email cannot both reserve a slot. Reservations upsert against this index (INSERT ... ON CONFLICT).
+
+-- 1. Two CONFIRMED (paid) enrollments for the same email cannot be merged automatically: each is tied to a payment.
+--    Abort so an operator can refund or reassign one of them, then re-run the migration.
+DO $$
+DECLARE
+    conflicts INT;
+BEGIN
+    SELECT count(*) INTO conflicts
+    FROM (
+        SELECT 1 FROM enrollments
+        WHERE payment_status = 'CONFIRMED'
+        GROUP BY event_id, lower(email)
+        HAVING count(*) > 1
+    ) c;
+
+    IF conflicts > 0 THEN
+        RAISE EXCEPTION 'V28: % (event_id, email) group(s) have more than one CONFIRMED enrollment. '
+            'Resolve them manually (SELECT event_id, lower(email) FROM enrollments WHERE payment_status = ''CONFIRMED'' '
+            'GROUP BY 1, 2 HAVING count(*) > 1) before re-running this migration.', conflicts;
+    END IF;
+END $$;
+
+-- 2. Delete the remaining duplicates, never a CONFIRMED row: the confirmed enrollment is kept if there is one,
+--    then a pending one, then the latest
+DELETE FROM enrollments e
+USING (
+    SELECT id, row_number() OVER (
+        PARTITION BY event_id, lower(email)
+        ORDER BY payment_status = 'CONFIRMED' DESC, payment_status = 'PENDING_PAYMENT' DESC, updated_at DESC, id
+    ) AS rn
+    FROM enrollments
+) d
+WHERE e.id = d.id
+  AND d.rn > 1
+  AND e.payment_status <> 'CONFIRMED';
+
+-- 3. Upsert arbiter; also serves the (event_id, email) lookups the plain index was for
+CREATE UNIQUE INDEX IF NOT EXISTS uq_enrollments_event_lower_email ON enrollments (event_id, lower(email));
+
+DROP INDEX IF EXISTS idx_enrollments_event_email;
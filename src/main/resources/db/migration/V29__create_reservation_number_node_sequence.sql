@@ -0,0 +1,2 @@
+-- Each application instance takes a distinct reservation number node id (nextval % 1024) at startup
+CREATE SEQUENCE IF NOT EXISTS reservation_number_node_seq AS BIGINT START WITH 0 MINVALUE 0;
@@ -0,0 +1,34 @@
+-- Verified Stripe webhook events are stored here and acknowledged immediately; workers process them later.
+-- The unique Stripe event id turns redeliveries into no-ops (INSERT ... ON CONFLICT DO NOTHING).
+CREATE TABLE IF NOT EXISTS stripe_webhook_inbox (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    event_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(255) NOT NULL,
+    ordering_key VARCHAR(255) NOT NULL,       -- Reservation number (or account id); processed one at a time, in order
+    event_created_at TIMESTAMPTZ(6) NOT NULL, -- Stripe's event creation time, the processing order within a key
+    payload TEXT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    attempts INT4 NOT NULL DEFAULT 0,
+    next_attempt_time TIMESTAMPTZ(6) NULL,
+    last_error VARCHAR(255) NULL,
+    lease_expires_at TIMESTAMPTZ(6) NULL,
+    leased_by VARCHAR(255) NULL,
+    created_at TIMESTAMPTZ(6) NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ(6) NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT uq_stripe_webhook_inbox_event_id UNIQUE (event_id)
+);
+
+-- Claim query: due rows that are not yet processed
+CREATE INDEX IF NOT EXISTS idx_stripe_webhook_inbox_due
+    ON stripe_webhook_inbox (next_attempt_time)
+    WHERE status IN ('PENDING', 'FAILED');
+
+-- Head-of-line check: is there an earlier unprocessed event for the same key?
+CREATE INDEX IF NOT EXISTS idx_stripe_webhook_inbox_ordering
+    ON stripe_webhook_inbox (ordering_key, event_created_at, id)
+    WHERE status IN ('PENDING', 'FAILED');
+
+-- Cleanup of processed rows
+CREATE INDEX IF NOT EXISTS idx_stripe_webhook_inbox_status_updated_at
+    ON stripe_webhook_inbox (status, updated_at);
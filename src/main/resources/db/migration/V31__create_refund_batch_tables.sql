@@ -0,0 +1,55 @@
+-- Bulk refund of every confirmed enrollment of a cancelled event. Items are created in one INSERT ... SELECT
+-- and refunded by workers in parallel; per-item status makes a batch resumable after a crash.
+CREATE TABLE IF NOT EXISTS refund_batches (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    event_id UUID NOT NULL,
+    event_title VARCHAR(255) NOT NULL,   -- Copied once for the refund emails, so items never look the event up
+    account_id VARCHAR(255) NOT NULL,    -- Organizer's connected account; refunds are direct-charge refunds
+    status VARCHAR(50) NOT NULL,
+    total_items INT4 NOT NULL DEFAULT 0,
+    succeeded_items INT4 NOT NULL DEFAULT 0, -- Filled in on completion; progress is counted from the items
+    failed_items INT4 NOT NULL DEFAULT 0,
+    started_at TIMESTAMPTZ(6) NOT NULL,
+    completed_at TIMESTAMPTZ(6) NULL,
+    created_at TIMESTAMPTZ(6) NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ(6) NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_refund_batches_event_id FOREIGN KEY (event_id) REFERENCES events(id)
+);
+
+-- At most one running batch per event
+CREATE UNIQUE INDEX IF NOT EXISTS uq_refund_batches_event_in_progress
+    ON refund_batches (event_id)
+    WHERE status = 'IN_PROGRESS';
+
+CREATE TABLE IF NOT EXISTS refund_batch_items (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(), -- Also the Stripe idempotency key, stable across retries
+    batch_id UUID NOT NULL,
+    enrollment_id UUID NOT NULL,
+    transaction_id UUID NOT NULL,
+    payment_intent_id VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    attempts INT4 NOT NULL DEFAULT 0,
+    next_attempt_time TIMESTAMPTZ(6) NULL,
+    last_error VARCHAR(255) NULL,
+    refund_id VARCHAR(255) NULL,
+    lease_expires_at TIMESTAMPTZ(6) NULL,
+    leased_by VARCHAR(255) NULL,
+    created_at TIMESTAMPTZ(6) NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ(6) NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_refund_batch_items_batch_id FOREIGN KEY (batch_id) REFERENCES refund_batches(id),
+    CONSTRAINT uq_refund_batch_items_batch_enrollment UNIQUE (batch_id, enrollment_id)
+);
+
+-- Claim query: due items that are not refunded yet
+CREATE INDEX IF NOT EXISTS idx_refund_batch_items_due
+    ON refund_batch_items (next_attempt_time)
+    WHERE status IN ('PENDING', 'FAILED');
+
+-- charge.refunded webhooks for batch refunds are recognised by payment intent
+CREATE INDEX IF NOT EXISTS idx_refund_batch_items_payment_intent
+    ON refund_batch_items (payment_intent_id);
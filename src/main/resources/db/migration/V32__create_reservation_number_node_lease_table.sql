@@ -0,0 +1,11 @@
+-- Reservation number node ids are leased per instance and kept alive by a heartbeat; an id is only handed out
+-- again once its lease has expired, so two running instances never share one (replaces nextval % 1024).
+CREATE TABLE IF NOT EXISTS reservation_number_node_leases (
+    node_id INT4 PRIMARY KEY,
+    lease_owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMPTZ(6) NOT NULL,
+
+    CONSTRAINT chk_reservation_number_node_id CHECK (node_id BETWEEN 0 AND 1023)
+);
+
+DROP SEQUENCE IF EXISTS reservation_number_node_seq;
@@ -0,0 +1,72 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+import com.chrisimoni.evyntspace.common.exception.RateLimitExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Only the "login" bucket's ip scope is configured: 3 requests per 10 seconds, one token every 3.33 seconds.
+ */
+public class RateLimiterTest {
+    private static final long START = 1_000_000_000L;
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimiter rateLimiter = new RateLimiter(new MockEnvironment()
+            .withProperty("rate-limit.buckets.login.ip.capacity", "3")
+            .withProperty("rate-limit.buckets.login.ip.refill-period-seconds", "10"), 1_000, 60);
+
+    @Test
+    @DisplayName("Requests beyond the burst are rejected with Retry-After rounded up to whole seconds")
+    void rejectsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check("login", RateLimitScope.IP, "10.0.0.1", START);
+        }
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.check("login", RateLimitScope.IP, "10.0.0.1", START));
+        assertEquals(4, exception.getRetryAfterSeconds());
+
+        exception = assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.check("login", RateLimitScope.IP, "10.0.0.1", START + 3 * SECOND));
+        assertEquals(1, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("A rejected key is admitted again once a token is refilled")
+    void refillsAfterRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check("login", RateLimitScope.IP, "10.0.0.1", START);
+        }
+
+        assertDoesNotThrow(() -> rateLimiter.check("login", RateLimitScope.IP, "10.0.0.1", START + 4 * SECOND));
+        assertThrows(RateLimitExceededException.class,
+                () -> rateLimiter.check("login", RateLimitScope.IP, "10.0.0.1", START + 4 * SECOND));
+    }
+
+    @Test
+    @DisplayName("Each key has its own bucket")
+    void keysAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check("login", RateLimitScope.IP, "10.0.0.1", START);
+        }
+
+        assertDoesNotThrow(() -> rateLimiter.check("login", RateLimitScope.IP, "10.0.0.2", START));
+    }
+
+    @Test
+    @DisplayName("Unconfigured buckets and scopes, and blank keys, are not limited")
+    void unconfiguredPassThrough() {
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.check("login", RateLimitScope.SUBJECT, "user@example.com", START);
+            rateLimiter.check("register", RateLimitScope.IP, "10.0.0.1", START);
+            rateLimiter.check("login", RateLimitScope.IP, " ", START);
+        }
+    }
+}
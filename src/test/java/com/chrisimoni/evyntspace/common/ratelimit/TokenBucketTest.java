@@ -0,0 +1,101 @@
+package com.chrisimoni.evyntspace.common.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The bucket is driven with a fixed clock: 5 tokens per 10 seconds, i.e. one token every 2 seconds.
+ */
+public class TokenBucketTest {
+    private static final long START = 1_000_000_000L;
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("A full bucket allows a burst of capacity requests, then reports the wait for the next token")
+    void burstCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 10 * SECOND, START);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(START), "request " + i);
+        }
+        assertEquals(2 * SECOND, bucket.tryConsume(START));
+        assertEquals(SECOND, bucket.tryConsume(START + SECOND));
+    }
+
+    @Test
+    @DisplayName("Tokens are refilled one per emission interval")
+    void refill() {
+        TokenBucket bucket = new TokenBucket(5, 10 * SECOND, START);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryConsume(START);
+        }
+
+        long later = START + 2 * SECOND;
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(2 * SECOND, bucket.tryConsume(later));
+    }
+
+    @Test
+    @DisplayName("An idle bucket refills to capacity and no further")
+    void idleBucketCapsAtCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 10 * SECOND, START);
+        bucket.tryConsume(START);
+
+        long muchLater = START + 3_600 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(muchLater), "request " + i);
+        }
+        assertEquals(2 * SECOND, bucket.tryConsume(muchLater));
+    }
+
+    @Test
+    @DisplayName("Concurrent callers at the same instant get exactly capacity tokens")
+    void concurrentConsumers() throws Exception {
+        int capacity = 100;
+        int threads = 8;
+        TokenBucket bucket = new TokenBucket(capacity, 10 * SECOND, START);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < capacity; i++) {
+                        if (bucket.tryConsume(START) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(capacity, allowed.get());
+    }
+
+    @Test
+    @DisplayName("Capacity and refill period must be positive")
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, SECOND, START));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, START));
+    }
+}
@@ -0,0 +1,86 @@
+package com.chrisimoni.evyntspace.common.util;
+
+import com.chrisimoni.evyntspace.event.util.EventUtil;
+import com.chrisimoni.evyntspace.event.util.EventUtilTest;
+import com.chrisimoni.evyntspace.payment.util.PaymentUtil;
+import com.chrisimoni.evyntspace.payment.util.PaymentUtilTest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * ValidationUtil, EventUtil and PaymentUtil against the implementations they replaced
+ * (original* methods: Pattern.compile per call, the regex slug pipeline, per-call BigDecimal constants).
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.chrisimoni.evyntspace.common.util.UtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+    private static final String EMAIL_REGEX =
+            "^[a-zA-Z0-9_+&-]+(?:\\.[a-zA-Z0-9_+&-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
+    private static final String PASSWORD_REGEX =
+            "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[^a-zA-Z\\d]).{8,20}$";
+
+    @Param({"Annual Tech Summit 2025: Cloud & AI", "Café Crème — Édition Spéciale"})
+    public String title;
+
+    private final String email = "john.doe+events@mail.example.com";
+    private final String password = "S3cure!Passw0rd";
+    private final BigDecimal amount = new BigDecimal("149.99");
+
+    @Benchmark
+    public boolean email() {
+        return ValidationUtil.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean originalEmail() {
+        return Pattern.compile(EMAIL_REGEX).matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean password() {
+        return ValidationUtil.isValidPassword(password);
+    }
+
+    @Benchmark
+    public boolean originalPassword() {
+        return Pattern.compile(PASSWORD_REGEX).matcher(password).matches();
+    }
+
+    @Benchmark
+    public String slug() {
+        return EventUtil.generateSlug(title);
+    }
+
+    @Benchmark
+    public String originalSlug() {
+        return EventUtilTest.originalSlug(title);
+    }
+
+    @Benchmark
+    public long platformFee() {
+        return PaymentUtil.calculatePlatformFee(amount, 10);
+    }
+
+    @Benchmark
+    public long originalPlatformFee() {
+        return PaymentUtilTest.originalPlatformFee(amount, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UtilBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.chrisimoni.evyntspace.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The scanners must accept exactly what the original regexes accepted.
+ * Random inputs are seeded, so a failure is reproducible.
+ */
+public class ValidationUtilTest {
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[a-zA-Z0-9_+&-]+(?:\\.[a-zA-Z0-9_+&-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+    private static final Pattern PASSWORD_PATTERN =
+            Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[^a-zA-Z\\d]).{8,20}$");
+
+    private static final String EMAIL_ALPHABET = "abcXYZ019_+&-.@@..-\u00E9! \n";
+    private static final String PASSWORD_ALPHABET = "aZ9!_ \t\n\r\u0085\u2028\u2029\u00E9\u0663\uFF21\uD83D\uDE00\uD800";
+    private static final int SAMPLES = 200_000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"john@example.com", "john.doe+tag@mail.example.co", "a@b.cd", "a@b.c", "a@b.abcdefgh",
+            "@example.com", "john@", "john@example", "john..doe@example.com", ".john@example.com", "john.@example.com",
+            "john@.example.com", "john@example..com", "john@exa_mple.com", "john@example.c0m", "jo hn@example.com",
+            "john@example.com\n", "john@@example.com", "a@b-.com", "a@-b.com", "a@1.2.com", ""})
+    @DisplayName("Email scanner matches the regex on known edge cases")
+    void emailEdgeCases(String email) {
+        assertEquals(EMAIL_PATTERN.matcher(email).matches(), ValidationUtil.isValidEmail(email), email);
+    }
+
+    @Test
+    @DisplayName("Email scanner matches the regex on random inputs")
+    void emailRandomInputs() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            String email = randomString(random, EMAIL_ALPHABET, 16);
+            assertEquals(EMAIL_PATTERN.matcher(email).matches(), ValidationUtil.isValidEmail(email), email);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Passw0rd!", "Password1", "password1!", "PASSWORD1!", "Passw0rdPassw0rdPa!1", "Passw0rdPassw0rdPa!12",
+            "Pa0!", "Pass w0rd", "Passw0rd\n", "Passw0rd!😀", "Pässw0rd", "Passw0rd٣", "Aa1! aaaa", ""})
+    @DisplayName("Password scanner matches the regex on known edge cases")
+    void passwordEdgeCases(String password) {
+        assertEquals(PASSWORD_PATTERN.matcher(password).matches(), ValidationUtil.isValidPassword(password), password);
+    }
+
+    @Test
+    @DisplayName("Password scanner matches the regex on random inputs")
+    void passwordRandomInputs() {
+        Random random = new Random(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            String password = randomString(random, PASSWORD_ALPHABET, 24);
+            assertEquals(PASSWORD_PATTERN.matcher(password).matches(), ValidationUtil.isValidPassword(password),
+                    password);
+        }
+    }
+
+    // Picks whole code points so surrogate pairs stay intact (the lone \uD800 is deliberate)
+    static String randomString(Random random, String alphabet, int maxLength) {
+        int[] codePoints = alphabet.codePoints().toArray();
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+        }
+        return builder.toString();
+    }
+}
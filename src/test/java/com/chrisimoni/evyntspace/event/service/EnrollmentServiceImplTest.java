@@ -0,0 +1,87 @@
+package com.chrisimoni.evyntspace.event.service;
+
+import com.chrisimoni.evyntspace.common.exception.EventSoldOutException;
+import com.chrisimoni.evyntspace.event.enums.PaymentStatus;
+import com.chrisimoni.evyntspace.event.repository.EnrollmentRepository;
+import com.chrisimoni.evyntspace.event.service.impl.EnrollmentServiceImpl;
+import com.chrisimoni.evyntspace.event.util.ReservationNumberGenerator;
+import com.chrisimoni.evyntspace.payment.service.PaymentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * The sold-out pre-check runs before any transaction is opened; only a retry of an existing hold gets past it.
+ */
+@ExtendWith(MockitoExtension.class)
+public class EnrollmentServiceImplTest {
+    private static final UUID EVENT_ID = UUID.randomUUID();
+    private static final String EMAIL = "jane.doe@example.com";
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private EventService eventService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private SlotAdmissionGate slotAdmissionGate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ReservationNumberGenerator reservationNumberGenerator;
+
+    @InjectMocks
+    private EnrollmentServiceImpl enrollmentService;
+
+    @Test
+    @DisplayName("A sold-out event is rejected without opening a transaction")
+    void soldOutRejectedBeforeTransaction() {
+        when(slotAdmissionGate.isSoldOut(EVENT_ID)).thenReturn(true);
+        when(enrollmentRepository.existsByEventIdAndEmailAndStatus(EVENT_ID, EMAIL, PaymentStatus.PENDING_PAYMENT))
+                .thenReturn(false);
+
+        assertThrows(EventSoldOutException.class,
+                () -> enrollmentService.createReservation(EVENT_ID, "Jane", "Doe", EMAIL));
+        verifyNoInteractions(transactionTemplate, eventService);
+    }
+
+    @Test
+    @DisplayName("A checkout retry for an existing hold gets past a sold-out gate")
+    void pendingHoldRetryPassesGate() {
+        when(slotAdmissionGate.isSoldOut(EVENT_ID)).thenReturn(true);
+        when(enrollmentRepository.existsByEventIdAndEmailAndStatus(EVENT_ID, EMAIL, PaymentStatus.PENDING_PAYMENT))
+                .thenReturn(true);
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("hold phase reached"));
+
+        assertThrows(IllegalStateException.class,
+                () -> enrollmentService.createReservation(EVENT_ID, "Jane", "Doe", EMAIL));
+    }
+
+    @Test
+    @DisplayName("No hold lookup while the gate has capacity")
+    void noLookupWithCapacity() {
+        when(slotAdmissionGate.isSoldOut(EVENT_ID)).thenReturn(false);
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("hold phase reached"));
+
+        assertThrows(IllegalStateException.class,
+                () -> enrollmentService.createReservation(EVENT_ID, "Jane", "Doe", EMAIL));
+        verify(enrollmentRepository, never()).existsByEventIdAndEmailAndStatus(any(), any(), any());
+    }
+}
@@ -0,0 +1,139 @@
+package com.chrisimoni.evyntspace.event.service;
+
+import com.chrisimoni.evyntspace.common.config.AuthenticationContext;
+import com.chrisimoni.evyntspace.event.dto.EventUpdateRequest;
+import com.chrisimoni.evyntspace.event.mapper.EventMapper;
+import com.chrisimoni.evyntspace.event.model.Event;
+import com.chrisimoni.evyntspace.event.repository.EventRepository;
+import com.chrisimoni.evyntspace.event.service.impl.EventServiceImpl;
+import com.chrisimoni.evyntspace.payment.service.PaymentAccountService;
+import com.chrisimoni.evyntspace.user.model.User;
+import com.chrisimoni.evyntspace.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.chrisimoni.evyntspace.common.config.CacheConfig.PUBLIC_EVENTS_CACHE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * updateEvent runs against the managed entity: saveAndFlush merges the updated copy onto it, which the
+ * repository stub below reproduces, so values read from previousEvent after the save are already the new ones.
+ */
+@ExtendWith(MockitoExtension.class)
+public class EventServiceImplTest {
+    private static final UUID EVENT_ID = UUID.randomUUID();
+
+    @Mock
+    private EventRepository repository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private PaymentAccountService paymentAccountService;
+    @Mock
+    private AuthenticationContext authenticationContext;
+    @Mock
+    private EventMapper mapper;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private SlotAdmissionGate slotAdmissionGate;
+
+    private EventServiceImpl eventService;
+
+    @BeforeEach
+    void setUp() {
+        eventService = new EventServiceImpl(repository, userService, paymentAccountService,
+                authenticationContext, mapper, cacheManager, slotAdmissionGate);
+    }
+
+    @Test
+    @DisplayName("Changing a sharded event's capacity redistributes from the old capacity to the new one")
+    void shardedCapacityChange() {
+        Event previousEvent = event(100, 4);
+        Event updatedEvent = event(150, 4);
+        stubUpdate(previousEvent, updatedEvent);
+
+        eventService.updateEvent(EVENT_ID, request(150));
+
+        verify(repository).redistributeSlotShards(EVENT_ID, 4, 100, 150);
+        verify(slotAdmissionGate).invalidate(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Non-sharded events are not redistributed")
+    void nonShardedCapacityChange() {
+        Event previousEvent = event(100, 0);
+        Event updatedEvent = event(80, 0);
+        stubUpdate(previousEvent, updatedEvent);
+
+        eventService.updateEvent(EVENT_ID, request(80));
+
+        verify(repository, never()).redistributeSlotShards(any(), anyInt(), anyInt(), anyInt());
+        verify(slotAdmissionGate).invalidate(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("Renaming an event evicts both the old and the new slug from the public cache")
+    void renameEvictsOldSlug() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(PUBLIC_EVENTS_CACHE)).thenReturn(cache);
+        Event previousEvent = event(100, 0);
+        Event updatedEvent = event(100, 0);
+        updatedEvent.setTitle("Tech Summit Reloaded");
+        stubUpdate(previousEvent, updatedEvent);
+
+        eventService.updateEvent(EVENT_ID, request(null));
+
+        verify(cache).evict("tech-summit");
+        verify(cache).evict("tech-summit-reloaded");
+    }
+
+    private void stubUpdate(Event previousEvent, Event updatedEvent) {
+        when(repository.findById(EVENT_ID)).thenReturn(Optional.of(previousEvent));
+        when(mapper.updateEventFromDto(any(EventUpdateRequest.class), eq(previousEvent))).thenReturn(updatedEvent);
+        // Merge semantics: the managed instance takes the updated values
+        when(repository.saveAndFlush(updatedEvent)).thenAnswer(invocation -> {
+            previousEvent.setNumberOfSlots(updatedEvent.getNumberOfSlots());
+            previousEvent.setTitle(updatedEvent.getTitle());
+            previousEvent.setSlug(updatedEvent.getSlug());
+            return previousEvent;
+        });
+    }
+
+    private static Event event(int numberOfSlots, int slotShardCount) {
+        User organizer = new User();
+        organizer.setId(UUID.randomUUID());
+
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        event.setOrganizer(organizer);
+        event.setTitle("Tech Summit");
+        event.setSlug("tech-summit");
+        event.setNumberOfSlots(numberOfSlots);
+        event.setSlotShardCount(slotShardCount);
+        event.setStartDate(Instant.now().plus(10, ChronoUnit.DAYS));
+        event.setEndDate(Instant.now().plus(11, ChronoUnit.DAYS));
+        return event;
+    }
+
+    private static EventUpdateRequest request(Integer numberOfSlots) {
+        return new EventUpdateRequest(null, null, null, numberOfSlots, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.chrisimoni.evyntspace.event.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * generateSlug must produce exactly what the original regex pipeline produced.
+ * toTitleSearchQuery must only emit prefix terms on the title weight.
+ */
+public class EventUtilTest {
+    private static final String TITLE_ALPHABET = "aZ09 -\t\n\u000B!'&\u00E9\u00C9\u00F1\u00C5\u0130\u212A\u00DF\u0301\uFB01\u0663\uFF21\uD83D\uDE00";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Tech Summit 2025", "  Leading and trailing  ", "--Hyphens--everywhere--", "Rock'n'Roll Night",
+            "Café Crème & Friends", "ÅNGSTRÖM Ünïcödé", "İstanbul", "Kelvin", "Straße", "ﬁnance", "😀 Party 😀",
+            "a - b", "a ! b", "!!!", "", "-"})
+    @DisplayName("Slug matches the original implementation on known titles")
+    void knownTitles(String title) {
+        assertEquals(originalSlug(title), EventUtil.generateSlug(title), title);
+    }
+
+    @Test
+    @DisplayName("Slug matches the original implementation on random titles")
+    void randomTitles() {
+        Random random = new Random(11);
+        int[] codePoints = TITLE_ALPHABET.codePoints().toArray();
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder title = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                title.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+            }
+            assertEquals(originalSlug(title.toString()), EventUtil.generateSlug(title.toString()), title.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Title search terms become title-weighted prefix terms")
+    void titleSearchQuery() {
+        assertEquals("conf:*A", EventUtil.toTitleSearchQuery("conf"));
+        assertEquals("tech:*A & conf:*A", EventUtil.toTitleSearchQuery("  Tech CONF "));
+        assertEquals("rock:*A & n:*A & roll:*A", EventUtil.toTitleSearchQuery("Rock'n'Roll"));
+        assertEquals("café:*A & 2025:*A", EventUtil.toTitleSearchQuery("Café (2025)"));
+        assertEquals("a:*A & b:*A", EventUtil.toTitleSearchQuery("a:* | !b"));
+        assertNull(EventUtil.toTitleSearchQuery("!&|"));
+    }
+
+    // The implementation generateSlug replaced
+    public static String originalSlug(String title) {
+        String slug = title.toLowerCase(Locale.ROOT);
+        slug = Normalizer.normalize(slug, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        slug = slug.replaceAll("[^a-z0-9\\s-]", "");
+        slug = slug.replaceAll("\\s+", "-").replaceAll("-{2,}", "-");
+        slug = slug.replaceAll("^-|-$", "");
+        return slug;
+    }
+}
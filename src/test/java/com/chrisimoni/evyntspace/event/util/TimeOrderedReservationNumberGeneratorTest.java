@@ -0,0 +1,139 @@
+package com.chrisimoni.evyntspace.event.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TimeOrderedReservationNumberGeneratorTest {
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500_000;
+
+    @Test
+    @DisplayName("Millions of ids generated across threads and nodes contain no duplicates")
+    void noDuplicatesUnderContention() throws Exception {
+        TimeOrderedReservationNumberGenerator node0 = new TimeOrderedReservationNumberGenerator(0, System::currentTimeMillis);
+        TimeOrderedReservationNumberGenerator node1 = new TimeOrderedReservationNumberGenerator(1, System::currentTimeMillis);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            TimeOrderedReservationNumberGenerator generator = t % 2 == 0 ? node0 : node1;
+            results.add(executor.submit(() -> {
+                start.await();
+                long[] ids = new long[IDS_PER_THREAD];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        int offset = 0;
+        for (Future<long[]> result : results) {
+            long[] ids = result.get();
+            for (int i = 1; i < ids.length; i++) {
+                assertTrue(Long.compareUnsigned(ids[i - 1], ids[i]) < 0, "ids must increase within a thread");
+            }
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        executor.shutdown();
+
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i], "duplicate id");
+        }
+    }
+
+    @Test
+    @DisplayName("Ids keep increasing when the clock stalls, moves backwards or the sequence overflows")
+    void monotonicWithStalledClock() {
+        AtomicLong clock = new AtomicLong(TimeOrderedReservationNumberGenerator.EPOCH_MILLIS + 1_000);
+        TimeOrderedReservationNumberGenerator generator = new TimeOrderedReservationNumberGenerator(5, clock::get);
+
+        String previous = generator.next();
+        for (int i = 0; i < 3 * (1 << TimeOrderedReservationNumberGenerator.SEQUENCE_BITS); i++) {
+            if (i == 1_000) {
+                clock.addAndGet(-500); // Clock adjusted backwards
+            }
+            String current = generator.next();
+            assertTrue(previous.compareTo(current) < 0, previous + " must sort before " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("Encoded ids are fixed length Crockford base32 and sort like the ids")
+    void encoding() {
+        assertEquals("0000000000000", TimeOrderedReservationNumberGenerator.encode(0));
+        assertEquals("000000000000Z", TimeOrderedReservationNumberGenerator.encode(31));
+        assertEquals("FZZZZZZZZZZZZ", TimeOrderedReservationNumberGenerator.encode(-1));
+
+        String number = new TimeOrderedReservationNumberGenerator(TimeOrderedReservationNumberGenerator.MAX_NODE_ID, System::currentTimeMillis).next();
+        assertEquals(1 + TimeOrderedReservationNumberGenerator.ENCODED_LENGTH, number.length());
+        assertTrue(number.matches("#[0-9A-HJKMNP-TV-Z]+"), number);
+    }
+
+    @Test
+    @DisplayName("A leased node id is used, and replaced by a new lease when renewal finds it lost")
+    void leasedNodeId() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any(), any()))
+                .thenReturn(List.of(7), List.of(9));
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(1, 0);
+        TimeOrderedReservationNumberGenerator generator = new TimeOrderedReservationNumberGenerator(-1, 60, jdbcTemplate);
+
+        assertEquals(7, nodeId(generator.nextId()));
+        generator.renewLease(); // Renewed
+        assertEquals(7, nodeId(generator.nextId()));
+        generator.renewLease(); // Lost, leases another id
+        assertEquals(9, nodeId(generator.nextId()));
+    }
+
+    @Test
+    @DisplayName("No ids are issued once the lease has run out, and startup fails when no node id is free")
+    void expiredOrUnavailableLease() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any(), any())).thenReturn(List.of(3));
+        TimeOrderedReservationNumberGenerator generator = new TimeOrderedReservationNumberGenerator(-1, 0, jdbcTemplate);
+        assertThrows(IllegalStateException.class, generator::next);
+
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(), any(), any())).thenReturn(List.of());
+        assertThrows(IllegalStateException.class, () -> new TimeOrderedReservationNumberGenerator(-1, 60, jdbcTemplate));
+    }
+
+    @Test
+    @DisplayName("Node ids outside the 10-bit range are rejected")
+    void invalidNodeId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeOrderedReservationNumberGenerator(-1, System::currentTimeMillis));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeOrderedReservationNumberGenerator(TimeOrderedReservationNumberGenerator.MAX_NODE_ID + 1, System::currentTimeMillis));
+    }
+
+    private static long nodeId(long id) {
+        return (id >>> TimeOrderedReservationNumberGenerator.SEQUENCE_BITS) & TimeOrderedReservationNumberGenerator.MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,78 @@
+package com.chrisimoni.evyntspace.notification.service;
+
+import com.chrisimoni.evyntspace.notification.enums.MessageTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost per email template.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.chrisimoni.evyntspace.notification.service.EmailTemplateRendererBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateRendererBenchmark {
+    @Param({"VERIFICATION_NOTIFICATION", "PASSWORD_RESET_NOTIFICATION", "PAYMENT_REFUND_NOTIFICATION",
+            "LOGIN_CODE_NOTIFICATION", "RESERVATION_CONFIRMATION_NOTIFICATION"})
+    public MessageTemplate template;
+
+    private EmailTemplateRenderer renderer;
+    private Map<String, Object> model;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCacheable(true);
+
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        renderer = new EmailTemplateRenderer(templateEngine, 1000, 60);
+        renderer.warmUp();
+        model = EmailTemplateRenderer.sampleModel(template);
+    }
+
+    // Same event for every message: per-event fragments come from the cache
+    @Benchmark
+    public String render() {
+        return renderer.render(template, model);
+    }
+
+    // A new event version every time: per-event fragments are rendered as well
+    @Benchmark
+    public String renderUncachedEvent() {
+        if (template != MessageTemplate.RESERVATION_CONFIRMATION_NOTIFICATION) {
+            return renderer.render(template, model);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> event = new HashMap<>((Map<String, Object>) model.get("event"));
+        event.put("id", UUID.randomUUID().toString());
+        Map<String, Object> uncachedModel = new HashMap<>(model);
+        uncachedModel.put("event", event);
+        return renderer.render(template, uncachedModel);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateRendererBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.chrisimoni.evyntspace.notification.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.RGBLuminanceSource;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The hand-written PNG encoder must produce images that standard decoders read back: ImageIO checks the
+ * chunk layout, CRCs and zlib scanlines, zxing checks that the pixels still carry the payload.
+ */
+public class QrCodeServiceTest {
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+
+    private final QrCodeService qrCodeService = new QrCodeService(100, 60);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"EVT-0001", "https://evynt.space/tickets/2f1e9c1a-6b8e-4c1f-9a4e-0f6f1b2c3d4e",
+            "Café Crème – ticket ✓"})
+    @DisplayName("Generated PNG decodes back to the payload")
+    void decodesToPayload(String payload) throws Exception {
+        BufferedImage image = read(qrCodeService.generatePng(payload));
+
+        int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(
+                new RGBLuminanceSource(image.getWidth(), image.getHeight(), pixels)));
+        String decoded = new QRCodeReader().decode(bitmap, Map.of(DecodeHintType.CHARACTER_SET, "UTF-8")).getText();
+
+        assertEquals(payload, decoded);
+    }
+
+    @Test
+    @DisplayName("Every pixel matches its module at the given scale")
+    void pixelsMatchMatrix() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode("EVT-0002", BarcodeFormat.QR_CODE, 0, 0);
+        int scale = 3;
+        BufferedImage image = read(QrCodeService.writePng(matrix, scale));
+
+        assertEquals(matrix.getWidth() * scale, image.getWidth());
+        assertEquals(matrix.getHeight() * scale, image.getHeight());
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int expected = matrix.get(x / scale, y / scale) ? BLACK : WHITE;
+                assertEquals(expected, image.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Repeated payloads are served from the cache")
+    void cachesByPayload() {
+        assertSame(qrCodeService.generatePng("EVT-0003"), qrCodeService.generatePng("EVT-0003"));
+    }
+
+    @Test
+    @DisplayName("Blank payloads are rejected")
+    void rejectsBlankPayload() {
+        assertThrows(IllegalArgumentException.class, () -> qrCodeService.generatePng(" "));
+    }
+
+    private static BufferedImage read(byte[] png) throws Exception {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertNotNull(image, "ImageIO could not read the PNG");
+        return image;
+    }
+}
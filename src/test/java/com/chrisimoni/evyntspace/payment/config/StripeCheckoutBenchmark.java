@@ -0,0 +1,109 @@
+package com.chrisimoni.evyntspace.payment.config;
+
+import com.chrisimoni.evyntspace.common.exception.ServiceBusyException;
+import com.stripe.StripeClient;
+import com.stripe.exception.StripeException;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout session creation throughput through the shared StripeClient and StripeBulkhead, against
+ * StripeStandInServer instead of Stripe. More caller threads than permits, like a ticket-sale burst:
+ * compare completed checkouts per second with the rejections reported in the teardown line.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.chrisimoni.evyntspace.payment.config.StripeCheckoutBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class StripeCheckoutBenchmark {
+    // Simulated Stripe response time
+    @Param({"0", "50"})
+    public long latencyMillis;
+
+    @Param({"8", "32"})
+    public int maxConcurrentCalls;
+
+    private StripeStandInServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private StripeClient stripeClient;
+    private StripeBulkhead bulkhead;
+    private SessionCreateParams params;
+    private RequestOptions options;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("http.maxConnections", String.valueOf(maxConcurrentCalls));
+        server = new StripeStandInServer(latencyMillis);
+        meterRegistry = new SimpleMeterRegistry();
+        stripeClient = StripeClient.builder()
+                .setApiKey("sk_test_stand_in")
+                .setApiBase(server.baseUrl())
+                .setConnectTimeout(3000)
+                .setReadTimeout(15000)
+                .setMaxNetworkRetries(0)
+                .build();
+        bulkhead = new StripeBulkhead(maxConcurrentCalls, 100, meterRegistry);
+
+        // Same shape as StripePaymentServiceImpl.createCheckoutSession
+        params = SessionCreateParams.builder()
+                .setMode(SessionCreateParams.Mode.PAYMENT)
+                .setCustomerEmail("attendee@example.com")
+                .setSuccessUrl("http://localhost:8080/checkout/success")
+                .setCancelUrl("http://localhost:8080/checkout/cancel")
+                .putMetadata("reservationNumber", "#0000000000000")
+                .setPaymentIntentData(SessionCreateParams.PaymentIntentData.builder()
+                        .putMetadata("reservationNumber", "#0000000000000")
+                        .setApplicationFeeAmount(250L)
+                        .build())
+                .addLineItem(SessionCreateParams.LineItem.builder()
+                        .setQuantity(1L)
+                        .setPriceData(SessionCreateParams.LineItem.PriceData.builder()
+                                .setCurrency("usd")
+                                .setUnitAmount(2500L)
+                                .setProductData(SessionCreateParams.LineItem.PriceData.ProductData.builder()
+                                        .setName("Load test event")
+                                        .addImage("https://example.com/event.png")
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        options = RequestOptions.builder()
+                .setStripeAccount("acct_stand_in")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%nRejected by the bulkhead: %.0f%n", meterRegistry.counter("stripe.client.rejected").count());
+        server.close();
+    }
+
+    @Benchmark
+    public void createCheckoutSession(Blackhole blackhole) throws StripeException {
+        try {
+            blackhole.consume(bulkhead.execute(() -> stripeClient.checkout().sessions().create(params, options)));
+        } catch (ServiceBusyException e) {
+            blackhole.consume(e); // Shed with 503
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StripeCheckoutBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.chrisimoni.evyntspace.payment.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Stripe API: answers checkout session and refund creation with canned JSON after
+ * a fixed delay that simulates Stripe's latency. Point stripe.api.base-url (or StripeClient's apiBase)
+ * at baseUrl() to load test the checkout path without network access or test-mode rate limits.
+ */
+public class StripeStandInServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final AtomicLong ids = new AtomicLong();
+
+    public StripeStandInServer(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/v1/checkout/sessions", exchange -> respond(exchange, """
+                {"id": "cs_test_%1$d", "object": "checkout.session", "mode": "payment", "status": "open",
+                 "payment_status": "unpaid", "url": "%2$s/pay/cs_test_%1$d"}"""));
+        server.createContext("/v1/refunds", exchange -> respond(exchange, """
+                {"id": "re_test_%1$d", "object": "refund", "status": "succeeded", "currency": "usd"}"""));
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void respond(HttpExchange exchange, String template) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes(); // Drain the form body so the connection can be kept alive
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            sleep();
+
+            long id = ids.incrementAndGet();
+            byte[] json = template.formatted(id, baseUrl()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("Request-Id", "req_test_" + id);
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        }
+    }
+
+    private void sleep() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
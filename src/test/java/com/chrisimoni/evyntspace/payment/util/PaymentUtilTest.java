@@ -0,0 +1,42 @@
+package com.chrisimoni.evyntspace.payment.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PaymentUtil must return the same amounts as the original BigDecimal arithmetic.
+ */
+public class PaymentUtilTest {
+
+    @Test
+    @DisplayName("Cents and platform fees match the original implementation")
+    void matchesOriginalArithmetic() {
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            // Up to 1,000,000.0000 with 0-4 decimal places
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(10_000_000_000L), random.nextInt(5));
+            int percentage = random.nextInt(101);
+
+            assertEquals(originalAmountToCent(amount), PaymentUtil.convertAmountToCent(amount), amount.toString());
+            assertEquals(originalPlatformFee(amount, percentage), PaymentUtil.calculatePlatformFee(amount, percentage),
+                    amount + " @ " + percentage + "%");
+        }
+    }
+
+    // The implementations PaymentUtil replaced
+    public static long originalAmountToCent(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).multiply(new BigDecimal("100")).longValueExact();
+    }
+
+    public static long originalPlatformFee(BigDecimal amount, int platformFeePercentage) {
+        BigDecimal feeRate = new BigDecimal(platformFeePercentage)
+                .divide(new BigDecimal(100), 4, RoundingMode.HALF_UP);
+        return originalAmountToCent(amount.multiply(feeRate));
+    }
+}
@@ -0,0 +1,82 @@
+package com.chrisimoni.evyntspace.user.config;
+
+import com.chrisimoni.evyntspace.common.exception.ServiceBusyException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a cheap non-auth request while login requests hammer BCrypt on the same machine.
+ * "direct" hashes on the request threads (previous behaviour), "bounded" goes through BoundedPasswordEncoder.
+ * Compare the p0.99 of publicEndpoint between the two modes.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.chrisimoni.evyntspace.user.config.LoginStormBenchmark
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoginStormBenchmark {
+    private static final String PASSWORD = "Password123!";
+
+    @Param({"direct", "bounded"})
+    public String mode;
+
+    private PasswordEncoder encoder;
+    private String storedHash;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+        storedHash = bcrypt.encode(PASSWORD);
+        encoder = "bounded".equals(mode)
+                ? new BoundedPasswordEncoder(bcrypt, Runtime.getRuntime().availableProcessors() / 2 + 1, 16, 2000)
+                : bcrypt;
+        payload = "{\"title\":\"Public event\",\"slug\":\"public-event\"}".repeat(20).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (encoder instanceof BoundedPasswordEncoder bounded) {
+            bounded.shutdown();
+        }
+    }
+
+    // Login threads outnumber cores, like a credential-stuffing burst on a 200-thread Tomcat pool
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(32)
+    public void login(Blackhole blackhole) {
+        try {
+            blackhole.consume(encoder.matches(PASSWORD, storedHash));
+        } catch (ServiceBusyException e) {
+            blackhole.consume(e); // Shed with 503
+        }
+    }
+
+    // Stand-in for a cached /public-events response: a little CPU work per request
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(4)
+    public byte[] publicEndpoint() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(payload);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginStormBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.chrisimoni.evyntspace.user.service;
+
+import com.chrisimoni.evyntspace.common.enums.Role;
+import com.chrisimoni.evyntspace.user.dto.VerifiedToken;
+import com.chrisimoni.evyntspace.user.model.User;
+import com.chrisimoni.evyntspace.user.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification cost: the previous filter path (extractUsername + isTokenValid,
+ * each decoding the secret and building a parser) against JwtService.verify, cold and cached.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.chrisimoni.evyntspace.user.service.JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private String secret;
+    private String token;
+    private JwtServiceImpl cachedService;
+    private JwtServiceImpl uncachedService;
+
+    @Setup
+    public void setUp() {
+        secret = Encoders.BASE64.encode(Jwts.SIG.HS512.key().build().getEncoded());
+        cachedService = new JwtServiceImpl(secret, 15, 10_000);
+        uncachedService = new JwtServiceImpl(secret, 15, 0); // Size 0 disables the cache
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("benchmark@example.com");
+        user.setRole(Role.USER);
+        token = cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean previousPath() {
+        String username = legacyClaims(token).getSubject();
+        boolean valid = legacyClaims(token).getExpiration().after(Date.from(Instant.now()));
+        return username != null && valid;
+    }
+
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return uncachedService.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachedService.verify(token);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(jwt).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}